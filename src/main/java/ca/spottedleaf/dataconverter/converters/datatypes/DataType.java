@@ -4,4 +4,11 @@ public abstract class DataType<T, R> {
 
     public abstract R convert(final T data, final long fromVersion, final long toVersion);
 
+    /**
+     * Returns whether converting data of this type from {@code fromVersion} to {@code toVersion} may modify it,
+     * so that walkers can skip nested data which would not change. Types which cannot tell must return {@code true}.
+     */
+    public boolean canChange(final long fromVersion, final long toVersion) {
+        return true;
+    }
 }
@@ -6,4 +6,29 @@ public interface DataWalker<T> {
 
     public T walk(final T data, final long fromVersion, final long toVersion);
 
+    /**
+     * Returns the types this walker may convert nested data with, or {@code null} if they are not known. A walker
+     * which declares its types is skipped when none of them can change for the version range being converted.
+     */
+    public default DataType<?, ?>[] getReferencedTypes() {
+        return null;
+    }
+
+    /**
+     * Returns a walker delegating to the specified walker, which declares that it only converts nested data with
+     * the specified types.
+     */
+    public static <T> DataWalker<T> referencing(final DataWalker<T> walker, final DataType<?, ?>... types) {
+        return new DataWalker<>() {
+            @Override
+            public T walk(final T data, final long fromVersion, final long toVersion) {
+                return walker.walk(data, fromVersion, toVersion);
+            }
+
+            @Override
+            public DataType<?, ?>[] getReferencedTypes() {
+                return types.clone();
+            }
+        };
+    }
 }
@@ -5,16 +5,32 @@ import ca.spottedleaf.dataconverter.converters.datatypes.DataType;
 import ca.spottedleaf.dataconverter.minecraft.datatypes.MCDataType;
 import ca.spottedleaf.dataconverter.minecraft.versions.V99;
 import ca.spottedleaf.dataconverter.minecraft.versions.V99;
+import ca.spottedleaf.dataconverter.types.MapType;
 import ca.spottedleaf.dataconverter.types.json.JsonMapType;
+import ca.spottedleaf.dataconverter.types.nbt.NBTIO;
 import ca.spottedleaf.dataconverter.types.nbt.NBTMapType;
 import com.google.gson.JsonObject;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.kyori.adventure.nbt.CompoundBinaryTag;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
 @SuppressWarnings("unchecked")
 public final class MCDataConverter {
 
     private static final LongArrayList BREAKPOINTS = MCVersionRegistry.getBreakpoints();
+    private static final ConcurrentHashMap<Long, ConversionSteps> STEPS = new ConcurrentHashMap<>();
+    private static volatile ConversionSteps LAST_STEPS;
 
     public static <T> T copy(final T type) {
         if (type instanceof JsonObject obj)
@@ -30,6 +46,20 @@ public final class MCDataConverter {
         return (CompoundBinaryTag) (replaced == null ? wrapped.getTag() : replaced.getTag());
     }
 
+    /**
+     * Converts binary NBT without building Adventure tags for the whole document, reading the data from the input
+     * and writing the converted data to the output. Compounds and lists which no converter reads are never decoded,
+     * and are copied to the output as-is. Neither stream is closed.
+     */
+    public static void convertNBT(final MCDataType type, final InputStream input, final OutputStream output,
+                                  final NBTIO.Compression compression, final int fromVersion, final int toVersion) throws IOException {
+        final MapType<String> data = NBTIO.readLazy(input, compression);
+
+        final MapType<String> replaced = convert(type, data, fromVersion, toVersion);
+
+        NBTIO.write(output, replaced == null ? data : replaced, compression);
+    }
+
     public static JsonObject convertJson(final MCDataType type, final JsonObject data, final boolean compressed, final int fromVersion, final int toVersion) {
         final JsonMapType wrapped = new JsonMapType(data, compressed);
 
@@ -38,9 +68,151 @@ public final class MCDataConverter {
         return replaced == null ? wrapped.getJson() : replaced.getJson();
     }
 
-    public static <T, R> R convert(final DataType<T, R> type, final T data, int fromVersion, final int toVersion) {
+    /**
+     * Converts each tag independently on the calling thread, returning the converted tags in the same order.
+     */
+    public static List<CompoundBinaryTag> convertBatch(final MCDataType type, final List<CompoundBinaryTag> data, final int fromVersion, final int toVersion) {
+        return convertBatch(type, data, fromVersion, toVersion, null);
+    }
+
+    /**
+     * Converts each tag independently on the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @see #convertBatch(MCDataType, List, int, int, Executor)
+     */
+    public static List<CompoundBinaryTag> convertBatchParallel(final MCDataType type, final List<CompoundBinaryTag> data, final int fromVersion, final int toVersion) {
+        return convertBatch(type, data, fromVersion, toVersion, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Converts each tag independently, returning the converted tags in the same order. If the executor is not null,
+     * the tags are split into slices which are converted on the executor, and this call blocks until all of them
+     * are done.
+     * <p>
+     * The version steps are resolved once for the whole batch. Converters which need scratch space, such as the chunk
+     * flattening and leaf distance converters, keep it per thread, so each thread reuses it for every document of the
+     * batch it converts. The document wrappers are not reused, as the converted documents are returned.
+     * </p>
+     */
+    public static List<CompoundBinaryTag> convertBatch(final MCDataType type, final List<CompoundBinaryTag> data, final int fromVersion,
+                                                       final int toVersion, final Executor executor) {
+        final long[] steps = getSteps(fromVersion, toVersion);
+        final CompoundBinaryTag[] ret = new CompoundBinaryTag[data.size()];
+
+        forEachInBatch(ret.length, executor, (final int i) -> {
+            final NBTMapType wrapped = new NBTMapType(data.get(i));
+
+            final NBTMapType replaced = (NBTMapType) convert(type, wrapped, steps);
+
+            ret[i] = (CompoundBinaryTag) (replaced == null ? wrapped.getTag() : replaced.getTag());
+        });
+
+        return Arrays.asList(ret);
+    }
+
+    public static List<JsonObject> convertJsonBatch(final MCDataType type, final List<JsonObject> data, final boolean compressed,
+                                                    final int fromVersion, final int toVersion) {
+        return convertJsonBatch(type, data, compressed, fromVersion, toVersion, null);
+    }
+
+    /**
+     * @see #convertBatchParallel(MCDataType, List, int, int)
+     */
+    public static List<JsonObject> convertJsonBatchParallel(final MCDataType type, final List<JsonObject> data, final boolean compressed,
+                                                            final int fromVersion, final int toVersion) {
+        return convertJsonBatch(type, data, compressed, fromVersion, toVersion, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @see #convertBatch(MCDataType, List, int, int, Executor)
+     */
+    public static List<JsonObject> convertJsonBatch(final MCDataType type, final List<JsonObject> data, final boolean compressed,
+                                                    final int fromVersion, final int toVersion, final Executor executor) {
+        final long[] steps = getSteps(fromVersion, toVersion);
+        final JsonObject[] ret = new JsonObject[data.size()];
+
+        forEachInBatch(ret.length, executor, (final int i) -> {
+            final JsonMapType wrapped = new JsonMapType(data.get(i), compressed);
+
+            final JsonMapType replaced = (JsonMapType) convert(type, wrapped, steps);
+
+            ret[i] = replaced == null ? wrapped.getJson() : replaced.getJson();
+        });
+
+        return Arrays.asList(ret);
+    }
+
+    private static void forEachInBatch(final int size, final Executor executor, final IntConsumer action) {
+        if (executor == null || size <= 1) {
+            for (int i = 0; i < size; ++i) {
+                action.accept(i);
+            }
+            return;
+        }
+
+        // a few slices per thread, so that one slow document does not hold up a whole thread's share
+        final int parallelism = executor instanceof ForkJoinPool pool ? pool.getParallelism() : Runtime.getRuntime().availableProcessors();
+        final int sliceSize = Math.max(1, size / (parallelism * 4));
+
+        final CompletableFuture<?>[] slices = new CompletableFuture[(size + sliceSize - 1) / sliceSize];
+        for (int slice = 0; slice < slices.length; ++slice) {
+            final int start = slice * sliceSize;
+            final int end = Math.min(size, start + sliceSize);
+            slices[slice] = CompletableFuture.runAsync(() -> {
+                for (int i = start; i < end; ++i) {
+                    action.accept(i);
+                }
+            }, executor);
+        }
+
+        try {
+            CompletableFuture.allOf(slices).join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public static <T, R> R convert(final DataType<T, R> type, final T data, final int fromVersion, final int toVersion) {
+        return convert(type, data, getSteps(fromVersion, toVersion));
+    }
+
+    private static <T, R> R convert(final DataType<T, R> type, final T data, final long[] steps) {
         Object ret = data;
 
+        for (int i = 0, len = steps.length; i < len; i += 2) {
+            final Object converted = type.convert((T) ret, steps[i], steps[i + 1]);
+            if (converted != null) {
+                ret = converted;
+            }
+        }
+
+        return (R) ret;
+    }
+
+    // returns pairs of encoded (from, to) versions to convert between, split on the breakpoints
+    private static long[] getSteps(final int fromVersion, final int toVersion) {
+        final ConversionSteps last = LAST_STEPS;
+        if (last != null && last.fromVersion == fromVersion && last.toVersion == toVersion) {
+            return last.steps;
+        }
+
+        final ConversionSteps ret = STEPS.computeIfAbsent(((long) fromVersion << 32) | (toVersion & 0xFFFFFFFFL), (final Long keyInMap) -> {
+            return new ConversionSteps(fromVersion, toVersion, computeSteps(fromVersion, toVersion));
+        });
+        LAST_STEPS = ret;
+
+        return ret.steps;
+    }
+
+    private static long[] computeSteps(final int fromVersion, final int toVersion) {
+        final LongArrayList ret = new LongArrayList();
+
         long currentVersion = DataConverter.encodeVersions(Math.max(fromVersion, V99.VERSION), Integer.MAX_VALUE);
         final long nextVersion = DataConverter.encodeVersions(toVersion, Integer.MAX_VALUE);
 
@@ -51,10 +223,8 @@ public final class MCDataConverter {
                 continue;
             }
 
-            final Object converted = type.convert((T) ret, currentVersion, Math.min(nextVersion, breakpoint - 1));
-            if (converted != null) {
-                ret = converted;
-            }
+            ret.add(currentVersion);
+            ret.add(Math.min(nextVersion, breakpoint - 1));
 
             currentVersion = Math.min(nextVersion, breakpoint - 1);
 
@@ -64,15 +234,15 @@ public final class MCDataConverter {
         }
 
         if (currentVersion != nextVersion) {
-            final Object converted = type.convert((T) ret, currentVersion, nextVersion);
-            if (converted != null) {
-                ret = converted;
-            }
+            ret.add(currentVersion);
+            ret.add(nextVersion);
         }
 
-        return (R) ret;
+        return ret.toLongArray();
     }
 
+    private static record ConversionSteps(int fromVersion, int toVersion, long[] steps) {}
+
     private MCDataConverter() {
     }
 }
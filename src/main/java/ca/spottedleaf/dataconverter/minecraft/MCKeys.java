@@ -0,0 +1,18 @@
+package ca.spottedleaf.dataconverter.minecraft;
+
+import ca.spottedleaf.dataconverter.types.MapKey;
+
+/**
+ * Handles for the keys which the chunk and block state converters look up for every chunk section and palette entry.
+ */
+public final class MCKeys {
+
+    public static final MapKey LEVEL = MapKey.of("Level");
+    public static final MapKey SECTIONS = MapKey.of("Sections");
+    public static final MapKey PALETTE = MapKey.of("Palette");
+    public static final MapKey BLOCK_STATES = MapKey.of("BlockStates");
+    public static final MapKey NAME = MapKey.of("Name");
+    public static final MapKey PROPERTIES = MapKey.of("Properties");
+
+    private MCKeys() {}
+}
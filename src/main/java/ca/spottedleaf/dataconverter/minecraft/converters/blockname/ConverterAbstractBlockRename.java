@@ -4,6 +4,7 @@ import ca.spottedleaf.dataconverter.converters.DataConverter;
 import ca.spottedleaf.dataconverter.minecraft.converters.helpers.ConverterAbstractStringValueTypeRename;
 import ca.spottedleaf.dataconverter.minecraft.datatypes.MCTypeRegistry;
 import ca.spottedleaf.dataconverter.types.MapType;
+import java.util.Map;
 import java.util.function.Function;
 
 public final class ConverterAbstractBlockRename {
@@ -14,8 +15,21 @@ public final class ConverterAbstractBlockRename {
         register(version, 0, renamer);
     }
 
+    public static void register(final int version, final Map<String, String> renames) {
+        register(version, 0, renames);
+    }
+
+    public static void register(final int version, final int subVersion, final Map<String, String> renames) {
+        ConverterAbstractStringValueTypeRename.register(version, subVersion, MCTypeRegistry.BLOCK_NAME, renames);
+        registerStates(version, subVersion, renames::get);
+    }
+
     public static void register(final int version, final int subVersion, final Function<String, String> renamer) {
         ConverterAbstractStringValueTypeRename.register(version, subVersion, MCTypeRegistry.BLOCK_NAME, renamer);
+        registerStates(version, subVersion, renamer);
+    }
+
+    private static void registerStates(final int version, final int subVersion, final Function<String, String> renamer) {
         MCTypeRegistry.BLOCK_STATE.addStructureConverter(new DataConverter<>(version, subVersion) {
             @Override
             public MapType<String> convert(final MapType<String> data, final long sourceVersion, final long toVersion) {
@@ -0,0 +1,100 @@
+package ca.spottedleaf.dataconverter.minecraft.converters.chunk;
+
+import java.util.Arrays;
+
+/**
+ * Scratch space for walking the blocks of a chunk from before 1.18, which is 16 sections of 16x16x16 blocks indexed
+ * by {@code y << 8 | z << 4 | x}. It holds a bitset of marked blocks and a ring buffer queue of block indices, for
+ * breadth-first searches over the whole chunk.
+ * <p>
+ * Each thread reuses one volume, see {@link #acquire()}.
+ * </p>
+ */
+public final class ChunkVolume {
+
+    public static final int BLOCKS = 16 * 256 * 16;
+
+    // directions, in the same order as the game's
+    public static final int DOWN = 0;
+    public static final int UP = 1;
+    public static final int NORTH = 2;
+    public static final int SOUTH = 3;
+    public static final int WEST = 4;
+    public static final int EAST = 5;
+    public static final int DIRECTIONS = 6;
+
+    private static final ThreadLocal<ChunkVolume> VOLUMES = ThreadLocal.withInitial(ChunkVolume::new);
+
+    private final long[] marked = new long[BLOCKS >>> 6];
+    // queued blocks are expected to be marked, so the queue never needs to hold more than every block once
+    private final int[] queue = new int[BLOCKS];
+    private int head;
+    private int tail;
+    private boolean inUse;
+
+    private ChunkVolume() {}
+
+    /**
+     * Returns the volume of the current thread, cleared. If it is still in use further up the stack, a new volume is
+     * returned instead. The volume must be released once done.
+     */
+    public static ChunkVolume acquire() {
+        ChunkVolume ret = VOLUMES.get();
+        if (ret.inUse) {
+            ret = new ChunkVolume();
+        }
+        ret.inUse = true;
+        return ret;
+    }
+
+    public void release() {
+        Arrays.fill(this.marked, 0L);
+        this.head = this.tail = 0;
+        this.inUse = false;
+    }
+
+    /**
+     * Returns the index of the adjacent block in the specified direction, or {@code -1} if it is outside the chunk.
+     */
+    public static int getNeighbour(final int index, final int direction) {
+        return switch (direction) {
+            case DOWN -> (index & 0xFF00) == 0 ? -1 : index - 256;
+            case UP -> (index & 0xFF00) == 0xFF00 ? -1 : index + 256;
+            case NORTH -> (index & 0xF0) == 0 ? -1 : index - 16;
+            case SOUTH -> (index & 0xF0) == 0xF0 ? -1 : index + 16;
+            case WEST -> (index & 0xF) == 0 ? -1 : index - 1;
+            case EAST -> (index & 0xF) == 0xF ? -1 : index + 1;
+            default -> throw new IllegalArgumentException("Unknown direction: " + direction);
+        };
+    }
+
+    public boolean isMarked(final int index) {
+        return (this.marked[index >>> 6] & (1L << index)) != 0L;
+    }
+
+    // returns whether the block was not already marked
+    public boolean mark(final int index) {
+        final long bit = 1L << index;
+        final long word = this.marked[index >>> 6];
+        this.marked[index >>> 6] = word | bit;
+        return (word & bit) == 0L;
+    }
+
+    public int getQueueSize() {
+        return this.tail - this.head;
+    }
+
+    public void enqueue(final int index) {
+        if (this.tail - this.head == BLOCKS) {
+            throw new IllegalStateException("Queue is full");
+        }
+        this.queue[this.tail++ & (BLOCKS - 1)] = index;
+    }
+
+    public int dequeue() {
+        if (this.tail == this.head) {
+            throw new IllegalStateException("Queue is empty");
+        }
+        return this.queue[this.head++ & (BLOCKS - 1)];
+    }
+}
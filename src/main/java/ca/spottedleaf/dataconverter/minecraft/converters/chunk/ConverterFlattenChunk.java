@@ -1,6 +1,7 @@
 package ca.spottedleaf.dataconverter.minecraft.converters.chunk;
 
 import ca.spottedleaf.dataconverter.converters.DataConverter;
+import ca.spottedleaf.dataconverter.minecraft.MCKeys;
 import ca.spottedleaf.dataconverter.minecraft.MCVersions;
 import ca.spottedleaf.dataconverter.minecraft.converters.helpers.HelperBlockFlatteningV1450;
 import ca.spottedleaf.dataconverter.minecraft.converters.helpers.HelperItemNameV102;
@@ -9,7 +10,6 @@ import ca.spottedleaf.dataconverter.types.MapType;
 import ca.spottedleaf.dataconverter.types.ObjectType;
 import ca.spottedleaf.dataconverter.types.Types;
 import ca.spottedleaf.dataconverter.util.DataFixUtils;
-import ca.spottedleaf.dataconverter.util.PaletteData;
 import it.unimi.dsi.fastutil.ints.*;
 import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import org.slf4j.Logger;
@@ -329,11 +329,11 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
     }
 
     static String getName(final MapType<String> blockState) {
-        return blockState.getString("Name");
+        return blockState.getString(MCKeys.NAME);
     }
 
     static String getProperty(final MapType<String> blockState, final String propertyName) {
-        final MapType<String> properties = blockState.getMap("Properties");
+        final MapType<String> properties = blockState.getMap(MCKeys.PROPERTIES);
         if (properties == null) {
             return "";
         }
@@ -369,114 +369,89 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
 
     @Override
     public MapType<String> convert(final MapType<String> data, final long sourceVersion, final long toVersion) {
-        final MapType<String> level = data.getMap("Level");
+        final MapType<String> level = data.getMap(MCKeys.LEVEL);
         if (level == null) {
             return null;
         }
 
-        if (!level.hasKey("Sections", ObjectType.LIST)) {
+        if (!level.hasKey(MCKeys.SECTIONS, ObjectType.LIST)) {
             return null;
         }
 
-        data.setMap("Level", new UpgradeChunk(level).writeBackToLevel());
-
-        return null;
-    }
-
-    static enum Direction {
-        DOWN(AxisDirection.NEGATIVE, Axis.Y),
-        UP(AxisDirection.POSITIVE, Axis.Y),
-        NORTH(AxisDirection.NEGATIVE, Axis.Z),
-        SOUTH(AxisDirection.POSITIVE, Axis.Z),
-        WEST(AxisDirection.NEGATIVE, Axis.X),
-        EAST(AxisDirection.POSITIVE, Axis.X);
-
-        private final Axis axis;
-        private final AxisDirection axisDirection;
-
-        private Direction(final AxisDirection axisDirection, final Axis axis) {
-            this.axis = axis;
-            this.axisDirection = axisDirection;
-        }
-
-        public AxisDirection getAxisDirection() {
-            return this.axisDirection;
+        final UpgradeChunk chunk = UpgradeChunk.acquire();
+        try {
+            data.setMap(MCKeys.LEVEL, chunk.upgrade(level).writeBackToLevel());
+        } finally {
+            chunk.release();
         }
 
-        public Axis getAxis() {
-            return this.axis;
-        }
-
-        public static enum AxisDirection {
-            POSITIVE(1),
-            NEGATIVE(-1);
-
-            private final int step;
-
-            private AxisDirection(final int step) {
-                this.step = step;
-            }
-
-            public int getStep() {
-                return this.step;
-            }
-        }
-
-        public static enum Axis {
-            X, Y, Z;
-        }
+        return null;
     }
 
-    static class DataLayer {
-        private final byte[] data;
-
-        public DataLayer() {
-            this.data = new byte[2048];
-        }
+    // reads nibble arrays in place
+    static final class DataLayer {
 
-        public DataLayer(final byte[] data) {
-            this.data = data;
-            if (data.length != 2048) {
+        // returns null if the array is null
+        public static byte[] checkOrNull(final byte[] data) {
+            if (data != null && data.length != 2048) {
                 throw new IllegalArgumentException("ChunkNibbleArrays should be 2048 bytes not: " + data.length);
             }
+            return data;
         }
 
-        public static DataLayer getOrNull(final byte[] data) {
-            return data == null ? null : new DataLayer(data);
-        }
-
-        public static DataLayer getOrCreate(final byte[] data) {
-            return data == null ? new DataLayer() : new DataLayer(data);
-        }
-
-        public int get(final int index) {
-            final byte value = this.data[index >>> 1];
+        public static int get(final byte[] data, final int index) {
+            final byte value = data[index >>> 1];
 
             // if we are an even index, we want lower 4 bits
             // if we are an odd index, we want upper 4 bits
             return ((value >>> ((index & 1) << 2)) & 0xF);
         }
 
-        public int get(final int x, final int y, final int z) {
-            final int index = y << 8 | z << 4 | x;
-            final byte value = this.data[index >>> 1];
-
-            // if we are an even index, we want lower 4 bits
-            // if we are an odd index, we want upper 4 bits
-            return ((value >>> ((index & 1) << 2)) & 0xF);
-        }
+        private DataLayer() {}
     }
 
     static final class UpgradeChunk {
+        // legacy worlds have many chunks to convert, so each thread reuses its chunk and sections rather than
+        // allocating them again for every chunk
+        private static final ThreadLocal<UpgradeChunk> SCRATCH = ThreadLocal.withInitial(UpgradeChunk::new);
+
         int sides;
 
         final Section[] sections = new Section[16];
-        final MapType<String> level;
-        final int blockX;
-        final int blockZ;
+        // the sections for each y, reused between chunks
+        private final Section[] sectionPool = new Section[16];
+        MapType<String> level;
+        int blockX;
+        int blockZ;
         final Int2ObjectLinkedOpenHashMap<MapType<String>> tileEntities = new Int2ObjectLinkedOpenHashMap<>(16);
+        private boolean inUse;
 
-        public UpgradeChunk(final MapType<String> level) {
+        private UpgradeChunk() {}
+
+        // returns the chunk of the current thread, or a new one if it is still in use further up the stack
+        public static UpgradeChunk acquire() {
+            UpgradeChunk ret = SCRATCH.get();
+            if (ret.inUse) {
+                ret = new UpgradeChunk();
+            }
+            ret.inUse = true;
+            return ret;
+        }
+
+        public void release() {
+            this.sides = 0;
+            this.level = null;
+            this.tileEntities.clear();
+            Arrays.fill(this.sections, null);
+            for (final Section section : this.sectionPool) {
+                if (section != null) {
+                    section.reset();
+                }
+            }
+            this.inUse = false;
+        }
+
+        public UpgradeChunk upgrade(final MapType<String> level) {
             this.level = level;
             this.blockX = level.getInt("xPos") << 4;
             this.blockZ = level.getInt("zPos") << 4;
@@ -497,20 +472,26 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
             }
 
             final boolean convertedFromAlphaFormat = level.getBoolean("convertedFromAlphaFormat");
-            final ListType sections = level.getList("Sections", ObjectType.MAP);
+            final ListType sections = level.getList(MCKeys.SECTIONS, ObjectType.MAP);
             if (sections != null) {
                 for (int i = 0, len = sections.size(); i < len; ++i) {
                     final MapType<String> sectionData = sections.getMap(i);
-                    final Section section = new Section(sectionData);
+                    final int y = sectionData.getInt("Y");
 
-                    if (section.y < 0 || section.y > 15) {
-                        LOGGER.warn("In chunk: {}x{} found an invalid chunk section y (ConverterFlattenChunk): {}", this.blockX, this.blockZ, section.y);
+                    if (y < 0 || y > 15) {
+                        LOGGER.warn("In chunk: {}x{} found an invalid chunk section y (ConverterFlattenChunk): {}", this.blockX, this.blockZ, y);
                         continue;
                     }
 
-                    if (this.sections[section.y] != null) {
-                        LOGGER.warn("In chunk: {}x{} found a duplicate chunk section (ConverterFlattenChunk): {}", this.blockX, this.blockZ, section.y);
+                    Section section = this.sectionPool[y];
+                    if (section == null) {
+                        this.sectionPool[y] = section = new Section();
+                    } else if (this.sections[y] != null) {
+                        LOGGER.warn("In chunk: {}x{} found a duplicate chunk section (ConverterFlattenChunk): {}", this.blockX, this.blockZ, y);
+                        // the duplicate replaces the previous section, as its fixes would not be written back anyway
+                        section.reset();
                     }
+                    section.init(sectionData);
 
                     this.sides = section.upgrade(this.sides);
                     this.sections[section.y] = section;
@@ -524,10 +505,10 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
 
                 final int yIndex = section.y << (8 + 4);
 
-                for (final Iterator<Int2ObjectMap.Entry<IntArrayList>> iterator = section.toFix.int2ObjectEntrySet().fastIterator(); iterator.hasNext(); ) {
-                    final Int2ObjectMap.Entry<IntArrayList> fixEntry = iterator.next();
-                    final IntIterator positionIterator = fixEntry.getValue().iterator();
-                    switch (fixEntry.getIntKey()) {
+                for (int fixIndex = 0, fixLen = section.toFixIds.size(); fixIndex < fixLen; ++fixIndex) {
+                    final int fixId = section.toFixIds.getInt(fixIndex);
+                    final IntIterator positionIterator = section.toFix[fixId].iterator();
+                    switch (fixId) {
                         case 2: { // grass block
                             while (positionIterator.hasNext()) {
                                 final int position = positionIterator.nextInt() | yIndex;
@@ -536,7 +517,7 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                                     continue;
                                 }
 
-                                final String blockAbove = getName(getBlock(relative(position, Direction.UP)));
+                                final String blockAbove = getName(getBlock(ChunkVolume.getNeighbour(position, ChunkVolume.UP)));
                                 if ("minecraft:snow".equals(blockAbove) || "minecraft:snow_layer".equals(blockAbove)) {
                                     this.setBlock(position, SNOWY_GRASS);
                                 }
@@ -551,7 +532,7 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                                     continue;
                                 }
 
-                                final String blockAbove = getName(getBlock(relative(position, Direction.UP)));
+                                final String blockAbove = getName(getBlock(ChunkVolume.getNeighbour(position, ChunkVolume.UP)));
                                 if ("minecraft:snow".equals(blockAbove) || "minecraft:snow_layer".equals(blockAbove)) {
                                     this.setBlock(position, SNOWY_PODZOL);
                                 }
@@ -611,7 +592,7 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                                     continue;
                                 }
 
-                                final int positionAbove = relative(position, Direction.UP);
+                                final int positionAbove = ChunkVolume.getNeighbour(position, ChunkVolume.UP);
                                 final MapType<String> blockStateAbove = this.getBlock(positionAbove);
 
                                 final String name = getName(blockState);
@@ -636,7 +617,7 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                                 // regular pumpkins?
 
                                 if ("minecraft:carved_pumpkin".equals(getName(blockState))) {
-                                    final String downName = getName(this.getBlock(relative(position, Direction.DOWN)));
+                                    final String downName = getName(this.getBlock(ChunkVolume.getNeighbour(position, ChunkVolume.DOWN)));
                                     if ("minecraft:grass_block".equals(downName) || "minecraft:dirt".equals(downName)) {
                                         this.setBlock(position, PUMPKIN);
                                     }
@@ -649,7 +630,7 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                                 final int position = positionIterator.nextInt() | yIndex;
                                 final MapType<String> blockState = this.getBlock(position);
                                 if ("minecraft:mycelium".equals(getName(blockState))) {
-                                    final String nameAbove = getName(this.getBlock(relative(position, Direction.UP)));
+                                    final String nameAbove = getName(this.getBlock(ChunkVolume.getNeighbour(position, ChunkVolume.UP)));
                                     if ("minecraft:snow".equals(nameAbove) || "minecraft:snow_layer".equals(nameAbove)) {
                                         this.setBlock(position, SNOWY_MYCELIUM);
                                     }
@@ -713,7 +694,7 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                                     continue;
                                 }
 
-                                final MapType<String> blockStateBelow = this.getBlock(relative(position, Direction.DOWN));
+                                final MapType<String> blockStateBelow = this.getBlock(ChunkVolume.getNeighbour(position, ChunkVolume.DOWN));
                                 final String nameBelow = getName(blockStateBelow);
                                 switch (nameBelow) {
                                     case "minecraft:sunflower":
@@ -752,7 +733,7 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
 
                                 final int base = tile.getInt("Base");
                                 if (base != 15 && base >= 0 && base < 16) {
-                                    final String state = getProperty(blockState, fixEntry.getIntKey() == 176 ? "rotation" : "facing") + "_" + base;
+                                    final String state = getProperty(blockState, fixId == 176 ? "rotation" : "facing") + "_" + base;
                                     final MapType<String> update = BANNER_BLOCK_MAP.get(state);
                                     if (update != null) {
                                         this.setBlock(position, update);
@@ -764,6 +745,8 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                     }
                 }
             }
+
+            return this;
         }
 
         private MapType<String> getBlockEntity(final int index) {
@@ -774,22 +757,6 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
             return this.tileEntities.remove(index);
         }
 
-        public static int relative(final int index, final Direction direction) {
-            switch (direction.getAxis()) {
-                case X:
-                    int j = (index & 15) + direction.getAxisDirection().getStep();
-                    return j >= 0 && j <= 15 ? index & -16 | j : -1;
-                case Y:
-                    int k = (index >> 8) + direction.getAxisDirection().getStep();
-                    return k >= 0 && k <= 255 ? index & 255 | k << 8 : -1;
-                case Z:
-                    int l = (index >> 4 & 15) + direction.getAxisDirection().getStep();
-                    return l >= 0 && l <= 15 ? index & -241 | l << 4 : -1;
-                default:
-                    return -1;
-            }
-        }
-
         private void setBlock(final int index, final MapType<String> blockState) {
             if (index >= 0 && index <= 65535) {
                 final Section section = this.getSection(index);
@@ -833,7 +800,7 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                 indices.setInts(Integer.toString(section.y), Arrays.copyOf(section.update.elements(), section.update.size()));
             }
 
-            this.level.setList("Sections", sections);
+            this.level.setList(MCKeys.SECTIONS, sections);
 
             final MapType<String> upgradeData = Types.NBT.createEmptyMap();
             upgradeData.setByte("Sides", (byte) this.sides);
@@ -850,8 +817,6 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
 
         static final class Palette extends Reference2IntOpenHashMap<MapType<String>> {
 
-            final ListType paletteStates = Types.NBT.createEmptyList();
-
             private int find(final MapType<String> k) {
                 if (((k) == (null)))
                     return containsNullKey ? n : -(n + 1);
@@ -894,11 +859,6 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                 }
 
                 final int insert = this.size;
-                MapType<String> inPalette = k;
-
-                if ("%%FILTER_ME%%".equals(getName(k))) {
-                    inPalette = AIR;
-                }
 
                 if (insert >= this.byId.length) {
                     this.byId = Arrays.copyOf(this.byId, this.byId.length * 2);
@@ -906,7 +866,6 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                 } else {
                     this.byId[insert] = k;
                 }
-                this.paletteStates.addMap(inPalette);
 
                 this.last = k;
 
@@ -915,19 +874,52 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                 return insert;
             }
 
+            public ListType toList() {
+                final ListType ret = Types.NBT.createEmptyList();
+                for (int i = 0; i < this.size; ++i) {
+                    final MapType<String> state = this.byId[i];
+                    ret.addMap("%%FILTER_ME%%".equals(getName(state)) ? AIR : state);
+                }
+
+                return ret.copy(); // deep copy to ensure palette compound tags are NOT shared
+            }
+
+            // clears the palette, keeping its storage
+            public void reset() {
+                Arrays.fill(this.byId, 0, this.size, null);
+                this.clear();
+                this.last = null;
+            }
         }
 
-        final MapType<String> section;
-        final boolean hasData;
-        final Int2ObjectLinkedOpenHashMap<IntArrayList> toFix = new Int2ObjectLinkedOpenHashMap<>();
+        MapType<String> section;
+        boolean hasData;
+        // the positions to fix for each block id needing fixes, and those ids in the order they were first found
+        final IntArrayList[] toFix = new IntArrayList[256];
+        final IntArrayList toFixIds = new IntArrayList();
         final IntArrayList update = new IntArrayList();
-        final int y;
+        int y;
         final int[] buffer = new int[4096];
 
-        public Section(final MapType<String> section) {
+        public void init(final MapType<String> section) {
             this.section = section;
             this.y = section.getInt("Y");
             this.hasData = section.hasKey("Blocks", ObjectType.BYTE_ARRAY);
+            if (!this.hasData) {
+                // the upgrade sets every block otherwise, but fixes in other sections may still read this one
+                Arrays.fill(this.buffer, 0);
+            }
+        }
+
+        // clears the section for the next chunk, keeping its storage
+        public void reset() {
+            this.section = null;
+            this.palette.reset();
+            for (int i = 0, len = this.toFixIds.size(); i < len; ++i) {
+                this.toFix[this.toFixIds.getInt(i)].clear();
+            }
+            this.toFixIds.clear();
+            this.update.clear();
         }
 
         public MapType<String> getBlock(final int index) {
@@ -948,9 +940,9 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                 return sides;
             }
 
-            final byte[] blocks = this.section.getBytes("Blocks");
-            final DataLayer data = DataLayer.getOrNull(this.section.getBytes("Data"));
-            final DataLayer add = DataLayer.getOrNull(this.section.getBytes("Add"));
+            final byte[] blocks = this.section.borrowBytes("Blocks");
+            final byte[] data = DataLayer.checkOrNull(this.section.borrowBytes("Data"));
+            final byte[] add = DataLayer.checkOrNull(this.section.borrowBytes("Add"));
 
             this.palette.getOrCreateId(AIR);
 
@@ -960,10 +952,10 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
 
                 int blockStateId = (blocks[index] & 255) << 4;
                 if (data != null) {
-                    blockStateId |= data.get(index);
+                    blockStateId |= DataLayer.get(data, index);
                 }
                 if (add != null) {
-                    blockStateId |= add.get(index) << 12;
+                    blockStateId |= DataLayer.get(add, index) << 12;
                 }
                 if (IDS_NEEDING_FIX[blockStateId >>> 4]) {
                     this.addFix(blockStateId >>> 4, index);
@@ -985,9 +977,14 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
         }
 
         private void addFix(final int block, final int index) {
-            this.toFix.computeIfAbsent(block, (final int keyInMap) -> {
-                return new IntArrayList();
-            }).add(index);
+            IntArrayList positions = this.toFix[block];
+            if (positions == null) {
+                this.toFix[block] = positions = new IntArrayList();
+            }
+            if (positions.isEmpty()) {
+                this.toFixIds.add(block);
+            }
+            positions.add(index);
         }
 
         // Note: modifies the current section and returns it.
@@ -996,16 +993,12 @@ public final class ConverterFlattenChunk extends DataConverter<MapType<String>,
                 return this.section;
             }
 
-            this.section.setList("Palette", this.palette.paletteStates.copy()); // deep copy to ensure palette compound tags are NOT shared
+            this.section.setList(MCKeys.PALETTE, this.palette.toList());
 
             final int bitSize = Math.max(4, DataFixUtils.ceillog2(this.palette.size()));
-            final PaletteData packedIds = new PaletteData(bitSize, 4096);
-
-            for (int index = 0; index < this.buffer.length; ++index) {
-                packedIds.set(index, this.buffer[index]);
-            }
-
-            this.section.setLongs("BlockStates", packedIds.getRaw());
+            // left unpacked for the later chunk converters, which read the same indices back. the buffer is reused for
+            // the next chunk, so the section keeps a copy
+            this.section.adoptPacked(MCKeys.BLOCK_STATES, this.buffer.clone(), 4096, bitSize, false);
 
             this.section.remove("Blocks");
             this.section.remove("Data");
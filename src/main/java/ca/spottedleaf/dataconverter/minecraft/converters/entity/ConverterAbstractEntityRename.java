@@ -4,6 +4,7 @@ import ca.spottedleaf.dataconverter.converters.DataConverter;
 import ca.spottedleaf.dataconverter.minecraft.converters.helpers.ConverterAbstractStringValueTypeRename;
 import ca.spottedleaf.dataconverter.minecraft.datatypes.MCTypeRegistry;
 import ca.spottedleaf.dataconverter.types.MapType;
+import java.util.Map;
 import java.util.function.Function;
 
 public final class ConverterAbstractEntityRename {
@@ -14,7 +15,21 @@ public final class ConverterAbstractEntityRename {
         register(version, 0, renamer);
     }
 
+    public static void register(final int version, final Map<String, String> renames) {
+        register(version, 0, renames);
+    }
+
+    public static void register(final int version, final int subVersion, final Map<String, String> renames) {
+        registerEntity(version, subVersion, renames::get);
+        ConverterAbstractStringValueTypeRename.register(version, subVersion, MCTypeRegistry.ENTITY_NAME, renames);
+    }
+
     public static void register(final int version, final int subVersion, final Function<String, String> renamer) {
+        registerEntity(version, subVersion, renamer);
+        ConverterAbstractStringValueTypeRename.register(version, subVersion, MCTypeRegistry.ENTITY_NAME, renamer);
+    }
+
+    private static void registerEntity(final int version, final int subVersion, final Function<String, String> renamer) {
         MCTypeRegistry.ENTITY.addStructureConverter(new DataConverter<>(version, subVersion) {
             @Override
             public MapType<String> convert(final MapType<String> data, final long sourceVersion, final long toVersion) {
@@ -32,7 +47,6 @@ public final class ConverterAbstractEntityRename {
                 return null;
             }
         });
-        ConverterAbstractStringValueTypeRename.register(version, subVersion, MCTypeRegistry.ENTITY_NAME, renamer);
     }
 
 }
@@ -0,0 +1,61 @@
+package ca.spottedleaf.dataconverter.minecraft.converters.helpers;
+
+import ca.spottedleaf.dataconverter.types.MapType;
+import ca.spottedleaf.dataconverter.types.nbt.NBTMapType;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of immutable block states shared by all palettes, so that equal block states across all converted chunks are
+ * stored as one compound tag. The pool only references the states weakly, so states no longer held by any palette or
+ * table are collected.
+ * <p>
+ * Pooled states are read-only NBT maps. Setting one in a palette stores only its tag, so each document still gets its
+ * own copy-on-write wrapper when it reads the state back. States of other types are not pooled.
+ * </p>
+ */
+public final class BlockStatePool {
+
+    // striped so that threads converting different chunks rarely contend
+    private static final int STRIPES = 16;
+
+    // the values reference the keys, which are the pooled tags
+    private static final WeakHashMap<CompoundBinaryTag, WeakReference<CompoundBinaryTag>>[] POOLS = new WeakHashMap[STRIPES];
+    static {
+        for (int i = 0; i < STRIPES; ++i) {
+            POOLS[i] = new WeakHashMap<>();
+        }
+    }
+
+    /**
+     * Returns a read-only state with the pooled tag equal to the tag of the specified state, adding it to the pool
+     * if absent.
+     */
+    public static MapType<String> intern(final MapType<String> state) {
+        if (!(state instanceof NBTMapType nbt)) {
+            return state;
+        }
+
+        return NBTMapType.readOnly(intern((CompoundBinaryTag)nbt.getTag()));
+    }
+
+    private static CompoundBinaryTag intern(final CompoundBinaryTag tag) {
+        final int hash = tag.hashCode();
+        final WeakHashMap<CompoundBinaryTag, WeakReference<CompoundBinaryTag>> pool = POOLS[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+
+        synchronized (pool) {
+            final WeakReference<CompoundBinaryTag> ref = pool.get(tag);
+            final CompoundBinaryTag ret = ref == null ? null : ref.get();
+            if (ret != null) {
+                return ret;
+            }
+
+            pool.put(tag, new WeakReference<>(tag));
+
+            return tag;
+        }
+    }
+
+    private BlockStatePool() {}
+}
@@ -2,6 +2,8 @@ package ca.spottedleaf.dataconverter.minecraft.converters.helpers;
 
 import ca.spottedleaf.dataconverter.converters.DataConverter;
 import ca.spottedleaf.dataconverter.minecraft.datatypes.MCValueType;
+import ca.spottedleaf.dataconverter.minecraft.datatypes.ValueRenameConverter;
+import java.util.Map;
 import java.util.function.Function;
 
 public final class ConverterAbstractStringValueTypeRename {
@@ -21,4 +23,13 @@ public final class ConverterAbstractStringValueTypeRename {
         });
     }
 
+    public static void register(final int version, final MCValueType type, final Map<String, String> renames) {
+        register(version, 0, type, renames);
+    }
+
+    // prefer this over a renamer function, as consecutive table renames are composed into a single lookup
+    public static void register(final int version, final int subVersion, final MCValueType type, final Map<String, String> renames) {
+        type.addConverter(new ValueRenameConverter(version, subVersion, renames));
+    }
+
 }
@@ -1,11 +1,17 @@
 package ca.spottedleaf.dataconverter.minecraft.converters.helpers;
 
+import ca.spottedleaf.dataconverter.minecraft.MCKeys;
 import ca.spottedleaf.dataconverter.types.MapType;
+import ca.spottedleaf.dataconverter.types.Types;
 import ca.spottedleaf.dataconverter.types.nbt.NBTMapType;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.kyori.adventure.nbt.TagStringIO;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public final class HelperBlockFlatteningV1450 {
@@ -13,20 +19,8 @@ public final class HelperBlockFlatteningV1450 {
     protected static final MapType<String>[] FLATTENED_BY_ID = new MapType[4096];
     protected static final MapType<String>[] BLOCK_DEFAULTS = new MapType[4096];
 
-    private static final Object2IntOpenHashMap<MapType<String>> ID_BY_OLD_NBT = new Object2IntOpenHashMap<MapType<String>>(64, 0.7f) {
-        @Override
-        public int put(final MapType<String> o, final int v) {
-            if (this.containsKey(o)) {
-                throw new RuntimeException("Already contains mapping for " + o);
-            }
-
-            return super.put(o, v);
-        }
-    };
-
-    static {
-        ID_BY_OLD_NBT.defaultReturnValue(-1);
-    }
+    // pre-flattening states are looked up by an encoding of their properties, rather than by hashing the whole state
+    private static final Map<String, OldBlock> OLD_BLOCKS = new HashMap<>();
 
     private static final Object2IntOpenHashMap<String> ID_BY_OLD_NAME = new Object2IntOpenHashMap<String>(64, 0.7f) {
         @Override
@@ -48,7 +42,7 @@ public final class HelperBlockFlatteningV1450 {
 
     public static MapType<String> parseTag(final String blockstate) {
         try {
-            final MapType<String> ret = new NBTMapType(TagStringIO.get().asCompound(blockstate.replace('\'', '"')));
+            final MapType<String> ret = BlockStatePool.intern(NBTMapType.readOnly(TagStringIO.get().asCompound(blockstate.replace('\'', '"'))));
 
             synchronized (IDENTITY_ENSURE) {
                 final MapType<String> identity = IDENTITY_ENSURE.putIfAbsent(ret, ret);
@@ -77,14 +71,16 @@ public final class HelperBlockFlatteningV1450 {
 
         for (final String preFlattening : preFlattenings) {
             final MapType<String> preFlatteningNBT = parseTag(preFlattening);
-            final String name = preFlatteningNBT.getString("Name");
+            final String name = preFlatteningNBT.getString(MCKeys.NAME);
             if (name == null) {
                 throw new RuntimeException("Name does not exist for pre flattenings for id " + id);
             }
 
             // putIfAbsent so we default to the lowest id, which is going to be the block default
             ID_BY_OLD_NAME.putIfAbsent(name, id);
-            ID_BY_OLD_NBT.put(preFlatteningNBT, id);
+            OLD_BLOCKS.computeIfAbsent(name, (final String keyInMap) -> {
+                return new OldBlock();
+            }).addState(preFlatteningNBT, id);
         }
     }
 
@@ -94,10 +90,25 @@ public final class HelperBlockFlatteningV1450 {
                 FLATTENED_BY_ID[i] = BLOCK_DEFAULTS[i >> 4];
             }
         }
+        for (final OldBlock block : OLD_BLOCKS.values()) {
+            block.buildIndex();
+        }
+    }
+
+    private static int getIdForOldNBT(final MapType<String> old) {
+        // the states are NBT, which never equal states of other types
+        if (old.getTypeUtil() != Types.NBT) {
+            return -1;
+        }
+
+        final String name = old.getString(MCKeys.NAME);
+        final OldBlock block = name == null ? null : OLD_BLOCKS.get(name);
+
+        return block == null ? -1 : block.getId(old);
     }
 
     public static MapType<String> flattenNBT(final MapType<String> old) {
-        final int id = ID_BY_OLD_NBT.getInt(old);
+        final int id = getIdForOldNBT(old);
         final MapType<String> ret = getNBTForIdRaw(id);
 
         return ret == null ? old : ret;
@@ -106,12 +117,12 @@ public final class HelperBlockFlatteningV1450 {
     public static String getNewBlockName(final String old) {
         final int id = ID_BY_OLD_NAME.getInt(old);
         final MapType<String> ret = getNBTForIdRaw(id);
-        return ret == null ? old : ret.getString("Name");
+        return ret == null ? old : ret.getString(MCKeys.NAME);
     }
 
     public static String getNameForId(final int block) {
         final MapType<String> nbt = getNBTForIdRaw(block);
-        return nbt == null ? "minecraft:air" : nbt.getString("Name");
+        return nbt == null ? "minecraft:air" : nbt.getString(MCKeys.NAME);
     }
 
     protected static MapType<String> getNBTForIdRaw(final int block) {
@@ -126,8 +137,114 @@ public final class HelperBlockFlatteningV1450 {
     private HelperBlockFlatteningV1450() {
     }
 
+    // the states of one pre-flattening block. Each state is encoded as a bitfield of the ordinals of its property
+    // values, which indexes the flattened ids. Ordinal 0 is an absent property, and the lowest bit whether the state
+    // has properties at all
+    private static final class OldBlock {
+
+        private final Object2IntOpenHashMap<String> propertyIndex = new Object2IntOpenHashMap<>();
+        private final List<Object2IntOpenHashMap<String>> valueOrdinals = new ArrayList<>();
+        private int[] shifts;
+        private int[] idsByState;
+
+        // registered until the index is built
+        private List<MapType<String>> states = new ArrayList<>();
+        private IntArrayList ids = new IntArrayList();
+
+        OldBlock() {
+            this.propertyIndex.defaultReturnValue(-1);
+        }
+
+        void addState(final MapType<String> state, final int id) {
+            final MapType<String> properties = state.getMap(MCKeys.PROPERTIES);
+            if (state.size() != (properties == null ? 1 : 2)) {
+                throw new RuntimeException("Cannot encode state " + state);
+            }
+            if (properties != null) {
+                for (final String property : properties.keys()) {
+                    final String value = properties.getString(property);
+                    if (value == null) {
+                        throw new RuntimeException("Cannot encode state " + state);
+                    }
+
+                    int index = this.propertyIndex.getInt(property);
+                    if (index < 0) {
+                        this.propertyIndex.put(property, index = this.valueOrdinals.size());
+                        this.valueOrdinals.add(new Object2IntOpenHashMap<>());
+                    }
+
+                    final Object2IntOpenHashMap<String> ordinals = this.valueOrdinals.get(index);
+                    if (!ordinals.containsKey(value)) {
+                        ordinals.put(value, ordinals.size() + 1);
+                    }
+                }
+            }
+
+            this.states.add(state);
+            this.ids.add(id);
+        }
+
+        void buildIndex() {
+            int bits = 1;
+            this.shifts = new int[this.valueOrdinals.size()];
+            for (int i = 0; i < this.shifts.length; ++i) {
+                this.shifts[i] = bits;
+                bits += 32 - Integer.numberOfLeadingZeros(this.valueOrdinals.get(i).size());
+            }
+            if (bits > 16) {
+                throw new RuntimeException("Too many states to index: " + this.states.get(0).getString(MCKeys.NAME));
+            }
+
+            this.idsByState = new int[1 << bits];
+            Arrays.fill(this.idsByState, -1);
+            for (int i = 0, len = this.states.size(); i < len; ++i) {
+                final MapType<String> state = this.states.get(i);
+                final int encoded = this.encode(state);
+                if (this.idsByState[encoded] != -1) {
+                    throw new RuntimeException("Already contains mapping for " + state);
+                }
+                this.idsByState[encoded] = this.ids.getInt(i);
+            }
+
+            this.states = null;
+            this.ids = null;
+        }
+
+        // returns -1 if the state has a property or value which no registered state has
+        private int encode(final MapType<String> state) {
+            final MapType<String> properties = state.getMap(MCKeys.PROPERTIES);
+            if (state.size() != (properties == null ? 1 : 2)) {
+                return -1;
+            }
+            if (properties == null) {
+                return 0;
+            }
+
+            int ret = 1;
+            for (final String property : properties.keys()) {
+                final int index = this.propertyIndex.getInt(property);
+                final String value;
+                if (index < 0 || (value = properties.getString(property)) == null) {
+                    return -1;
+                }
+
+                final int ordinal = this.valueOrdinals.get(index).getInt(value);
+                if (ordinal == 0) {
+                    return -1;
+                }
+                ret |= ordinal << this.shifts[index];
+            }
+
+            return ret;
+        }
+
+        int getId(final MapType<String> state) {
+            final int encoded = this.encode(state);
+            return encoded < 0 ? -1 : this.idsByState[encoded];
+        }
+    }
+
     static {
-        ID_BY_OLD_NBT.defaultReturnValue(-1);
         register(0, "{Name:'minecraft:air'}", "{Name:'minecraft:air'}");
         register(16, "{Name:'minecraft:stone'}", "{Name:'minecraft:stone',Properties:{variant:'stone'}}");
         register(17, "{Name:'minecraft:granite'}", "{Name:'minecraft:stone',Properties:{variant:'granite'}}");
@@ -3,8 +3,6 @@ package ca.spottedleaf.dataconverter.minecraft.converters.helpers;
 import ca.spottedleaf.dataconverter.types.ListType;
 import ca.spottedleaf.dataconverter.types.MapType;
 import ca.spottedleaf.dataconverter.types.ObjectType;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.Function;
 
 public final class RenameHelper {
@@ -16,43 +14,7 @@ public final class RenameHelper {
             return;
         }
 
-        List<String> newKeys = null;
-        List<Object> newValues = null;
-        boolean needsRename = false;
-        for (final String key : data.keys()) {
-            final String renamed = renamer.apply(key);
-            if (renamed != null) {
-                newKeys = new ArrayList<>();
-                newValues = new ArrayList<>();
-                newValues.add(data.getGeneric(key));
-                newKeys.add(renamed);
-                data.remove(key);
-                needsRename = true;
-                break;
-            }
-        }
-
-        if (!needsRename) {
-            return;
-        }
-
-        for (final String key : new ArrayList<>(data.keys())) {
-            final String renamed = renamer.apply(key);
-
-            if (renamed != null) {
-                newValues.add(data.getGeneric(key));
-                newKeys.add(renamed);
-                data.remove(key);
-            }
-        }
-
-        // insert new keys
-        for (int i = 0, len = newKeys.size(); i < len; ++i) {
-            final String key = newKeys.get(i);
-            final Object value = newValues.get(i);
-
-            data.setGeneric(key, value);
-        }
+        data.renameKeys(renamer);
     }
 
     // Clobbers anything in toKey if fromKey exists
@@ -61,11 +23,7 @@ public final class RenameHelper {
             return;
         }
 
-        final Object value = data.getGeneric(fromKey);
-        if (value != null) {
-            data.remove(fromKey);
-            data.setGeneric(toKey, value);
-        }
+        data.moveKey(fromKey, toKey);
     }
 
     public static void renameString(final MapType<String> data, final String key, final Function<String, String> renamer) {
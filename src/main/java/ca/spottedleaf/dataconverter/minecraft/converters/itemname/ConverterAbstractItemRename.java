@@ -2,6 +2,7 @@ package ca.spottedleaf.dataconverter.minecraft.converters.itemname;
 
 import ca.spottedleaf.dataconverter.minecraft.converters.helpers.ConverterAbstractStringValueTypeRename;
 import ca.spottedleaf.dataconverter.minecraft.datatypes.MCTypeRegistry;
+import java.util.Map;
 import java.util.function.Function;
 
 public final class ConverterAbstractItemRename {
@@ -15,4 +16,12 @@ public final class ConverterAbstractItemRename {
         ConverterAbstractStringValueTypeRename.register(version, subVersion, MCTypeRegistry.ITEM_NAME, renamer);
     }
 
+    public static void register(final int version, final Map<String, String> renames) {
+        register(version, 0, renames);
+    }
+
+    public static void register(final int version, final int subVersion, final Map<String, String> renames) {
+        ConverterAbstractStringValueTypeRename.register(version, subVersion, MCTypeRegistry.ITEM_NAME, renames);
+    }
+
 }
@@ -1092,13 +1092,7 @@ public final class ConverterItemStackToDataComponents {
         }
 
         public void migrateTagTo(final String tagKey, final MapType<String> dst, final String dstKey) {
-            final Object value = this.tag.getGeneric(tagKey);
-
-            if (value != null) {
-                this.tag.remove(tagKey);
-
-                dst.setGeneric(dstKey, value);
-            }
+            this.tag.transferTo(dst, tagKey, dstKey);
         }
 
         public String tagRemoveString(final String key) {
@@ -1169,22 +1163,15 @@ public final class ConverterItemStackToDataComponents {
         }
 
         public void tagMigrateToComponent(final String tagKey, final String componentKey) {
-            final Object value = this.tag.getGeneric(tagKey);
-            if (value != null) {
-                this.tag.remove(tagKey);
-
-                this.components.setGeneric(componentKey, value);
-            }
+            this.tag.transferTo(this.components, tagKey, componentKey);
         }
 
         public void tagMigrateNonEmptyListToComponent(final String tagKey, final String componentKey) {
-            final Object value = this.tag.getGeneric(tagKey);
-            if (value != null) {
+            final ListType list = this.tag.getListUnchecked(tagKey);
+            if (list != null && list.size() == 0) {
                 this.tag.remove(tagKey);
-
-                if (!(value instanceof ListType list) || list.size() > 0) {
-                    this.components.setGeneric(componentKey, value);
-                }
+            } else {
+                this.tag.transferTo(this.components, tagKey, componentKey);
             }
         }
 
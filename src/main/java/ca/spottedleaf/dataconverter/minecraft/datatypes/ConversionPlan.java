@@ -0,0 +1,290 @@
+package ca.spottedleaf.dataconverter.minecraft.datatypes;
+
+import ca.spottedleaf.dataconverter.converters.DataConverter;
+import ca.spottedleaf.dataconverter.converters.datatypes.DataHook;
+import ca.spottedleaf.dataconverter.converters.datatypes.DataType;
+import ca.spottedleaf.dataconverter.converters.datatypes.DataWalker;
+import ca.spottedleaf.dataconverter.minecraft.hooks.DataHookEnforceNamespacedID;
+import ca.spottedleaf.dataconverter.minecraft.hooks.DataHookValueTypeEnforceNamespaced;
+import ca.spottedleaf.dataconverter.util.Long2ObjectArraySortedMap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The converters, hooks and walkers a data type runs to convert data from one encoded version to another, resolved
+ * once so that converting many documents between the same versions does not repeat the lookups.
+ */
+public final class ConversionPlan<T, R> {
+
+    private static final DataHook[] EMPTY_HOOKS = new DataHook[0];
+    private static final DataWalker[] EMPTY_WALKERS = new DataWalker[0];
+
+    private static final byte CHANGE_UNKNOWN = 0;
+    private static final byte CHANGE_NONE = 1;
+    private static final byte CHANGE_POSSIBLE = 2;
+
+    public final long fromVersion;
+    public final long toVersion;
+
+    // converters with fromVersion < version <= toVersion, in the order they run
+    final DataConverter<T, R>[] converters;
+    // hooks to pre-hook each converter with, resolved at the converter's version
+    final DataHook<T, R>[][] converterHooks;
+    // hooks resolved at toVersion, and the version they are registered at
+    final DataHook<T, R>[] hooks;
+    final long hooksVersion;
+    final DataWalker<T>[] walkers;
+    // only for id types, the walkers for each id resolved at toVersion
+    final Map<String, DataWalker<T>[]> walkersById;
+
+    // lazily computed, as they depend on the plans of the referenced types
+    private volatile byte canChange = CHANGE_UNKNOWN;
+    private volatile ActiveWalkers<T> activeWalkers;
+
+    private ConversionPlan(final long fromVersion, final long toVersion, final DataConverter<T, R>[] converters,
+                           final DataHook<T, R>[][] converterHooks, final DataHook<T, R>[] hooks, final long hooksVersion,
+                           final DataWalker<T>[] walkers, final Map<String, DataWalker<T>[]> walkersById) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.converters = converters;
+        this.converterHooks = converterHooks;
+        this.hooks = hooks;
+        this.hooksVersion = hooksVersion;
+        this.walkers = walkers;
+        this.walkersById = walkersById;
+    }
+
+    /**
+     * Returns whether running this plan may modify data. Hooks count as changes, as they run even when no converter
+     * does and may rewrite the data. The exception is namespace correction when converting from the version it is
+     * registered at or later, see {@link #canHooksChange()}.
+     */
+    public boolean canChange() {
+        final byte canChange = this.canChange;
+        if (canChange != CHANGE_UNKNOWN) {
+            return canChange == CHANGE_POSSIBLE;
+        }
+
+        final boolean ret = this.computeCanChange();
+        this.canChange = ret ? CHANGE_POSSIBLE : CHANGE_NONE;
+
+        return ret;
+    }
+
+    private boolean computeCanChange() {
+        // the type graph has cycles (entities hold items, items hold entities), so search the plans of every type
+        // reachable through the walkers for one that converts or hooks
+        final Set<ConversionPlan<?, ?>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        final ArrayDeque<ConversionPlan<?, ?>> queue = new ArrayDeque<>();
+        seen.add(this);
+        queue.add(this);
+
+        ConversionPlan<?, ?> plan;
+        while ((plan = queue.poll()) != null) {
+            if (plan.converters.length != 0 || plan.canHooksChange()) {
+                return true;
+            }
+
+            final List<DataWalker<?>> walkers = new ArrayList<>(List.of(plan.walkers));
+            if (plan.walkersById != null) {
+                for (final DataWalker<?>[] walkersForId : plan.walkersById.values()) {
+                    walkers.addAll(List.of(walkersForId));
+                }
+            }
+
+            for (final DataWalker<?> walker : walkers) {
+                final DataType<?, ?>[] types = walker.getReferencedTypes();
+                if (types == null) {
+                    return true;
+                }
+
+                for (final DataType<?, ?> type : types) {
+                    if (!(type instanceof PlannedDataType plannedType)) {
+                        return true;
+                    }
+
+                    final ConversionPlan<?, ?> typePlan = plannedType.getPlan(this.fromVersion, this.toVersion);
+                    if (seen.add(typePlan)) {
+                        queue.add(typePlan);
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    // namespace correction is registered at the version from which the game writes namespaced ids, so it only changes
+    // data older than that. data from that version on which still lacks a namespace is left as is by pruned walkers
+    private boolean canHooksChange() {
+        if (this.fromVersion < this.hooksVersion) {
+            return this.hooks.length != 0;
+        }
+
+        for (final DataHook<T, R> hook : this.hooks) {
+            if (hook.getClass() != DataHookEnforceNamespacedID.class && hook.getClass() != DataHookValueTypeEnforceNamespaced.class) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    DataWalker<T>[] getWalkers() {
+        return this.getActiveWalkers().walkers();
+    }
+
+    Map<String, DataWalker<T>[]> getWalkersById() {
+        return this.getActiveWalkers().walkersById();
+    }
+
+    private ActiveWalkers<T> getActiveWalkers() {
+        ActiveWalkers<T> ret = this.activeWalkers;
+        if (ret != null) {
+            return ret;
+        }
+
+        Map<String, DataWalker<T>[]> walkersById = null;
+        if (this.walkersById != null) {
+            walkersById = new HashMap<>();
+            for (final Map.Entry<String, DataWalker<T>[]> entry : this.walkersById.entrySet()) {
+                final DataWalker<T>[] walkersForId = this.filterWalkers(entry.getValue());
+                if (walkersForId.length != 0) {
+                    walkersById.put(entry.getKey(), walkersForId);
+                }
+            }
+        }
+
+        this.activeWalkers = ret = new ActiveWalkers<>(this.filterWalkers(this.walkers), walkersById);
+
+        return ret;
+    }
+
+    // removes the walkers which only reference types that cannot change
+    private DataWalker<T>[] filterWalkers(final DataWalker<T>[] walkers) {
+        final List<DataWalker<T>> ret = new ArrayList<>(walkers.length);
+
+        for (final DataWalker<T> walker : walkers) {
+            final DataType<?, ?>[] types = walker.getReferencedTypes();
+            if (types == null) {
+                ret.add(walker);
+                continue;
+            }
+
+            for (final DataType<?, ?> type : types) {
+                if (type.canChange(this.fromVersion, this.toVersion)) {
+                    ret.add(walker);
+                    break;
+                }
+            }
+        }
+
+        return ret.size() == walkers.length ? walkers : toWalkers(ret);
+    }
+
+    static <T, R> ConversionPlan<T, R> create(final long fromVersion, final long toVersion,
+                                              final List<? extends DataConverter<T, R>> converters,
+                                              final Long2ObjectArraySortedMap<List<DataHook<T, R>>> hooks,
+                                              final Long2ObjectArraySortedMap<List<DataWalker<T>>> walkers,
+                                              final Map<String, Long2ObjectArraySortedMap<List<DataWalker<T>>>> walkersById) {
+        // converters are sorted by version
+        int start = 0;
+        while (start < converters.size() && converters.get(start).getEncodedVersion() <= fromVersion) {
+            ++start;
+        }
+        int end = start;
+        while (end < converters.size() && converters.get(end).getEncodedVersion() <= toVersion) {
+            ++end;
+        }
+
+        final DataConverter<T, R>[] planConverters = new DataConverter[end - start];
+        final DataHook<T, R>[][] planConverterHooks = new DataHook[end - start][];
+        for (int i = start; i < end; ++i) {
+            final DataConverter<T, R> converter = converters.get(i);
+            planConverters[i - start] = converter;
+            planConverterHooks[i - start] = toHooks(hooks.getFloor(converter.getEncodedVersion()));
+        }
+
+        Map<String, DataWalker<T>[]> planWalkersById = null;
+        if (walkersById != null) {
+            planWalkersById = new HashMap<>();
+            for (final Map.Entry<String, Long2ObjectArraySortedMap<List<DataWalker<T>>>> entry : walkersById.entrySet()) {
+                final List<DataWalker<T>> walkersForId = entry.getValue().getFloor(toVersion);
+                if (walkersForId != null && !walkersForId.isEmpty()) {
+                    planWalkersById.put(entry.getKey(), toWalkers(walkersForId));
+                }
+            }
+        }
+
+        return new ConversionPlan<>(
+            fromVersion, toVersion, planConverters, planConverterHooks, toHooks(hooks.getFloor(toVersion)),
+            hooks.getFloorKey(toVersion), walkers == null ? EMPTY_WALKERS : toWalkers(walkers.getFloor(toVersion)), planWalkersById
+        );
+    }
+
+    // returns a copy of this plan which runs the specified converters instead
+    ConversionPlan<T, R> withConverters(final DataConverter<T, R>[] converters, final DataHook<T, R>[][] converterHooks) {
+        return new ConversionPlan<>(
+            this.fromVersion, this.toVersion, converters, converterHooks, this.hooks, this.hooksVersion, this.walkers,
+            this.walkersById
+        );
+    }
+
+    private static <T, R> DataHook<T, R>[] toHooks(final List<DataHook<T, R>> hooks) {
+        return hooks == null || hooks.isEmpty() ? EMPTY_HOOKS : hooks.toArray(new DataHook[0]);
+    }
+
+    private static <T> DataWalker<T>[] toWalkers(final List<DataWalker<T>> walkers) {
+        return walkers == null || walkers.isEmpty() ? EMPTY_WALKERS : walkers.toArray(new DataWalker[0]);
+    }
+
+    private static record ActiveWalkers<T>(DataWalker<T>[] walkers, Map<String, DataWalker<T>[]> walkersById) {}
+
+    @FunctionalInterface
+    interface Factory<T, R> {
+
+        public ConversionPlan<T, R> create(final long fromVersion, final long toVersion);
+
+    }
+
+    static final class Cache<T, R> {
+
+        private final Factory<T, R> factory;
+        private final ConcurrentHashMap<VersionRange, ConversionPlan<T, R>> plans = new ConcurrentHashMap<>();
+        // bulk conversions almost always convert between the same versions, so avoid the map lookup for those
+        private volatile ConversionPlan<T, R> last;
+
+        Cache(final Factory<T, R> factory) {
+            this.factory = factory;
+        }
+
+        ConversionPlan<T, R> get(final long fromVersion, final long toVersion) {
+            final ConversionPlan<T, R> last = this.last;
+            if (last != null && last.fromVersion == fromVersion && last.toVersion == toVersion) {
+                return last;
+            }
+
+            final ConversionPlan<T, R> ret = this.plans.computeIfAbsent(new VersionRange(fromVersion, toVersion), (final VersionRange keyInMap) -> {
+                return this.factory.create(keyInMap.fromVersion(), keyInMap.toVersion());
+            });
+            this.last = ret;
+
+            return ret;
+        }
+
+        void clear() {
+            this.plans.clear();
+            this.last = null;
+        }
+
+        private static record VersionRange(long fromVersion, long toVersion) {}
+    }
+}
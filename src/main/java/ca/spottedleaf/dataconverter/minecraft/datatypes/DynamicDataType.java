@@ -9,22 +9,43 @@ import ca.spottedleaf.dataconverter.util.Long2ObjectArraySortedMap;
 import java.util.ArrayList;
 import java.util.List;
 
-public class DynamicDataType extends DataType<Object, Object> {
+public class DynamicDataType extends DataType<Object, Object> implements PlannedDataType {
 
     public final String name;
 
     protected final ArrayList<DataConverter<Object, Object>> structureConverters = new ArrayList<>();
     protected final Long2ObjectArraySortedMap<List<DataWalker<Object>>> structureWalkers = new Long2ObjectArraySortedMap<>();
     protected final Long2ObjectArraySortedMap<List<DataHook<Object, Object>>> structureHooks = new Long2ObjectArraySortedMap<>();
+    protected final ConversionPlan.Cache<Object, Object> plans = new ConversionPlan.Cache<>(this::createPlan);
+    // set once all converters are registered, after which the type only reads its registrations
+    protected boolean frozen;
 
     public DynamicDataType(final String name) {
         this.name = name;
     }
 
+    protected void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("Cannot register to " + this.name + " after the type registry is frozen");
+        }
+    }
+
+    void freeze() {
+        this.frozen = true;
+        this.structureConverters.trimToSize();
+        this.structureWalkers.replaceAll(List::copyOf);
+        this.structureWalkers.trimToSize();
+        this.structureHooks.replaceAll(List::copyOf);
+        this.structureHooks.trimToSize();
+        this.plans.clear();
+    }
+
     public void addStructureConverter(final DataConverter<Object, Object> converter) {
+        this.checkNotFrozen();
         MCVersionRegistry.checkVersion(converter.getEncodedVersion());
         this.structureConverters.add(converter);
         this.structureConverters.sort(DataConverter.LOWEST_VERSION_COMPARATOR);
+        this.plans.clear();
     }
 
     public void addStructureWalker(final int minVersion, final DataWalker<Object> walker) {
@@ -32,9 +53,20 @@ public class DynamicDataType extends DataType<Object, Object> {
     }
 
     public void addStructureWalker(final int minVersion, final int versionStep, final DataWalker<Object> walker) {
+        this.checkNotFrozen();
         this.structureWalkers.computeIfAbsent(DataConverter.encodeVersions(minVersion, versionStep), (final long keyInMap) -> {
             return new ArrayList<>();
         }).add(walker);
+        this.plans.clear();
+    }
+
+    public void addStructureWalker(final int minVersion, final DataWalker<Object> walker, final DataType<?, ?>... referencedTypes) {
+        this.addStructureWalker(minVersion, 0, walker, referencedTypes);
+    }
+
+    public void addStructureWalker(final int minVersion, final int versionStep, final DataWalker<Object> walker,
+                                   final DataType<?, ?>... referencedTypes) {
+        this.addStructureWalker(minVersion, versionStep, DataWalker.referencing(walker, referencedTypes));
     }
 
     public void addStructureHook(final int minVersion, final DataHook<Object, Object> hook) {
@@ -42,84 +74,83 @@ public class DynamicDataType extends DataType<Object, Object> {
     }
 
     public void addStructureHook(final int minVersion, final int versionStep, final DataHook<Object, Object> hook) {
+        this.checkNotFrozen();
         this.structureHooks.computeIfAbsent(DataConverter.encodeVersions(minVersion, versionStep), (final long keyInMap) -> {
             return new ArrayList<>();
         }).add(hook);
+        this.plans.clear();
+    }
+
+    protected ConversionPlan<Object, Object> createPlan(final long fromVersion, final long toVersion) {
+        return ConversionPlan.create(fromVersion, toVersion, this.structureConverters, this.structureHooks, this.structureWalkers, null);
     }
 
     @Override
-    public Object convert(Object data, final long fromVersion, final long toVersion) {
-        Object ret = null;
+    public ConversionPlan<Object, Object> getPlan(final long fromVersion, final long toVersion) {
+        return this.plans.get(fromVersion, toVersion);
+    }
 
-        final List<DataConverter<Object, Object>> converters = this.structureConverters;
-        for (int i = 0, len = converters.size(); i < len; ++i) {
-            final DataConverter<Object, Object> converter = converters.get(i);
-            final long converterVersion = converter.getEncodedVersion();
+    @Override
+    public boolean canChange(final long fromVersion, final long toVersion) {
+        return this.getPlan(fromVersion, toVersion).canChange();
+    }
 
-            if (converterVersion <= fromVersion) {
-                continue;
-            }
+    @Override
+    public Object convert(final Object data, final long fromVersion, final long toVersion) {
+        return this.convert(data, this.getPlan(fromVersion, toVersion));
+    }
 
-            if (converterVersion > toVersion) {
-                break;
-            }
+    public Object convert(Object data, final ConversionPlan<Object, Object> plan) {
+        final long fromVersion = plan.fromVersion;
+        final long toVersion = plan.toVersion;
 
-            List<DataHook<Object, Object>> hooks = this.structureHooks.getFloor(converterVersion);
+        Object ret = null;
 
-            if (hooks != null) {
-                for (int k = 0, klen = hooks.size(); k < klen; ++k) {
-                    final Object replace = hooks.get(k).preHook(data, fromVersion, toVersion);
-                    if (replace != null) {
-                        ret = data = replace;
-                    }
+        final DataConverter<Object, Object>[] converters = plan.converters;
+        final DataHook<Object, Object>[][] converterHooks = plan.converterHooks;
+        final DataHook<Object, Object>[] hooks = plan.hooks;
+        for (int i = 0, len = converters.length; i < len; ++i) {
+            final DataHook<Object, Object>[] preHooks = converterHooks[i];
+            for (int k = 0, klen = preHooks.length; k < klen; ++k) {
+                final Object replace = preHooks[k].preHook(data, fromVersion, toVersion);
+                if (replace != null) {
+                    ret = data = replace;
                 }
             }
 
-            final Object replace = converter.convert(data, fromVersion, toVersion);
+            final Object replace = converters[i].convert(data, fromVersion, toVersion);
             if (replace != null) {
                 ret = data = replace;
             }
 
             // possibly new data format, update hooks
-            hooks = this.structureHooks.getFloor(toVersion);
-
-            if (hooks != null) {
-                for (int klen = hooks.size(), k = klen - 1; k >= 0; --k) {
-                    final Object postReplace = hooks.get(k).postHook(data, fromVersion, toVersion);
-                    if (postReplace != null) {
-                        ret = data = postReplace;
-                    }
+            for (int klen = hooks.length, k = klen - 1; k >= 0; --k) {
+                final Object postReplace = hooks[k].postHook(data, fromVersion, toVersion);
+                if (postReplace != null) {
+                    ret = data = postReplace;
                 }
             }
         }
 
-        final List<DataHook<Object, Object>> hooks = this.structureHooks.getFloor(toVersion);
-
-        if (hooks != null) {
-            for (int k = 0, klen = hooks.size(); k < klen; ++k) {
-                final Object replace = hooks.get(k).preHook(data, fromVersion, toVersion);
-                if (replace != null) {
-                    ret = data = replace;
-                }
+        for (int k = 0, klen = hooks.length; k < klen; ++k) {
+            final Object replace = hooks[k].preHook(data, fromVersion, toVersion);
+            if (replace != null) {
+                ret = data = replace;
             }
         }
 
-        final List<DataWalker<Object>> walkers = this.structureWalkers.getFloor(toVersion);
-        if (walkers != null) {
-            for (int i = 0, len = walkers.size(); i < len; ++i) {
-                final Object replace = walkers.get(i).walk(data, fromVersion, toVersion);
-                if (replace != null) {
-                    ret = data = replace;
-                }
+        final DataWalker<Object>[] walkers = plan.getWalkers();
+        for (int i = 0, len = walkers.length; i < len; ++i) {
+            final Object replace = walkers[i].walk(data, fromVersion, toVersion);
+            if (replace != null) {
+                ret = data = replace;
             }
         }
 
-        if (hooks != null) {
-            for (int klen = hooks.size(), k = klen - 1; k >= 0; --k) {
-                final Object postReplace = hooks.get(k).postHook(data, fromVersion, toVersion);
-                if (postReplace != null) {
-                    ret = data = postReplace;
-                }
+        for (int klen = hooks.length, k = klen - 1; k >= 0; --k) {
+            final Object postReplace = hooks[k].postHook(data, fromVersion, toVersion);
+            if (postReplace != null) {
+                ret = data = postReplace;
             }
         }
 
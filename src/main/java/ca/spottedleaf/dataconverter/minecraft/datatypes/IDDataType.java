@@ -1,11 +1,12 @@
 package ca.spottedleaf.dataconverter.minecraft.datatypes;
 
 import ca.spottedleaf.dataconverter.converters.DataConverter;
-import ca.spottedleaf.dataconverter.converters.datatypes.DataHook;
+import ca.spottedleaf.dataconverter.converters.datatypes.DataType;
 import ca.spottedleaf.dataconverter.converters.datatypes.DataWalker;
 import ca.spottedleaf.dataconverter.minecraft.MCVersionRegistry;
 import ca.spottedleaf.dataconverter.types.MapType;
 import ca.spottedleaf.dataconverter.util.Long2ObjectArraySortedMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -20,16 +21,48 @@ public class IDDataType extends MCDataType {
         super(name);
     }
 
+    @Override
+    void freeze() {
+        for (final DataConverter<MapType<String>, MapType<String>> converter : this.structureConverters) {
+            if (converter instanceof IdConverterGroup group) {
+                group.freeze();
+            }
+        }
+        for (final Long2ObjectArraySortedMap<List<DataWalker<MapType<String>>>> walkersForId : this.walkersById.values()) {
+            walkersForId.replaceAll(List::copyOf);
+            walkersForId.trimToSize();
+        }
+        super.freeze();
+    }
+
     public void addConverterForId(final String id, final DataConverter<MapType<String>, MapType<String>> converter) {
-        this.addStructureConverter(new DataConverter<>(converter.getToVersion(), converter.getVersionStep()) {
-            @Override
-            public MapType<String> convert(final MapType<String> data, final long sourceVersion, final long toVersion) {
-                if (!id.equals(data.getString("id"))) {
-                    return null;
-                }
-                return converter.convert(data, sourceVersion, toVersion);
+        this.checkNotFrozen();
+        final long version = converter.getEncodedVersion();
+
+        // id converters registered consecutively at the same version share one dispatching converter, which keeps
+        // their order relative to the structure converters registered at that version
+        IdConverterGroup group = null;
+        final List<DataConverter<MapType<String>, MapType<String>>> converters = this.structureConverters;
+        for (int i = converters.size() - 1; i >= 0; --i) {
+            final DataConverter<MapType<String>, MapType<String>> last = converters.get(i);
+            final long lastVersion = last.getEncodedVersion();
+
+            if (lastVersion > version) {
+                continue;
+            }
+
+            if (lastVersion == version && last instanceof IdConverterGroup lastGroup) {
+                group = lastGroup;
             }
-        });
+            break;
+        }
+
+        if (group == null) {
+            group = new IdConverterGroup(converter.getToVersion(), converter.getVersionStep());
+            this.addStructureConverter(group);
+        }
+
+        group.add(id, converter);
     }
 
     public void addWalker(final int minVersion, final String id, final DataWalker<MapType<String>> walker) {
@@ -37,11 +70,22 @@ public class IDDataType extends MCDataType {
     }
 
     public void addWalker(final int minVersion, final int versionStep, final String id, final DataWalker<MapType<String>> walker) {
+        this.checkNotFrozen();
         this.walkersById.computeIfAbsent(id, (final String keyInMap) -> {
             return new Long2ObjectArraySortedMap<>();
         }).computeIfAbsent(DataConverter.encodeVersions(minVersion, versionStep), (final long keyInMap) -> {
             return new ArrayList<>();
         }).add(walker);
+        this.plans.clear();
+    }
+
+    public void addWalker(final int minVersion, final String id, final DataWalker<MapType<String>> walker, final DataType<?, ?>... referencedTypes) {
+        this.addWalker(minVersion, 0, id, walker, referencedTypes);
+    }
+
+    public void addWalker(final int minVersion, final int versionStep, final String id, final DataWalker<MapType<String>> walker,
+                          final DataType<?, ?>... referencedTypes) {
+        this.addWalker(minVersion, versionStep, id, DataWalker.referencing(walker, referencedTypes));
     }
 
     public void copyWalkers(final int minVersion, final String fromId, final String toId) {
@@ -67,100 +111,69 @@ public class IDDataType extends MCDataType {
     }
 
     @Override
-    public MapType<String> convert(MapType<String> data, final long fromVersion, final long toVersion) {
-        MapType<String> ret = null;
-
-        final List<DataConverter<MapType<String>, MapType<String>>> converters = this.structureConverters;
-        for (int i = 0, len = converters.size(); i < len; ++i) {
-            final DataConverter<MapType<String>, MapType<String>> converter = converters.get(i);
-            final long converterVersion = converter.getEncodedVersion();
-
-            if (converterVersion <= fromVersion) {
-                continue;
-            }
+    protected ConversionPlan<MapType<String>, MapType<String>> createPlan(final long fromVersion, final long toVersion) {
+        return ConversionPlan.create(fromVersion, toVersion, this.structureConverters, this.structureHooks, this.structureWalkers, this.walkersById);
+    }
 
-            if (converterVersion > toVersion) {
-                break;
-            }
+    protected static final class IdConverterGroup extends DataConverter<MapType<String>, MapType<String>> {
 
-            List<DataHook<MapType<String>, MapType<String>>> hooks = this.structureHooks.getFloor(converterVersion);
+        private List<DataConverter<MapType<String>, MapType<String>>> converters = new ArrayList<>();
+        private Map<String, IntArrayList> indicesById = new HashMap<>();
 
-            if (hooks != null) {
-                for (int k = 0, klen = hooks.size(); k < klen; ++k) {
-                    final MapType<String> replace = hooks.get(k).preHook(data, fromVersion, toVersion);
-                    if (replace != null) {
-                        ret = data = replace;
-                    }
-                }
-            }
+        private IdConverterGroup(final int toVersion, final int versionStep) {
+            super(toVersion, versionStep);
+        }
 
-            final MapType<String> replace = converter.convert(data, fromVersion, toVersion);
-            if (replace != null) {
-                ret = data = replace;
+        private void freeze() {
+            for (final IntArrayList indices : this.indicesById.values()) {
+                indices.trim();
             }
+            this.converters = List.copyOf(this.converters);
+            this.indicesById = Map.copyOf(this.indicesById);
+        }
 
-            // possibly new data format, update hooks
-            hooks = this.structureHooks.getFloor(toVersion);
-
-            if (hooks != null) {
-                for (int klen = hooks.size(), k = klen - 1; k >= 0; --k) {
-                    final MapType<String> postReplace = hooks.get(k).postHook(data, fromVersion, toVersion);
-                    if (postReplace != null) {
-                        ret = data = postReplace;
-                    }
-                }
-            }
+        private void add(final String id, final DataConverter<MapType<String>, MapType<String>> converter) {
+            this.indicesById.computeIfAbsent(id, (final String keyInMap) -> {
+                return new IntArrayList();
+            }).add(this.converters.size());
+            this.converters.add(converter);
         }
 
-        final List<DataHook<MapType<String>, MapType<String>>> hooks = this.structureHooks.getFloor(toVersion);
+        @Override
+        public MapType<String> convert(MapType<String> data, final long sourceVersion, final long toVersion) {
+            String id = data.getString("id");
+            IntArrayList indices = id == null ? null : this.indicesById.get(id);
+            if (indices == null) {
+                return null;
+            }
 
-        // run pre hooks
+            MapType<String> ret = null;
 
-        if (hooks != null) {
-            for (int k = 0, klen = hooks.size(); k < klen; ++k) {
-                final MapType<String> replace = hooks.get(k).preHook(data, fromVersion, toVersion);
-                if (replace != null) {
-                    ret = data = replace;
+            int lastIndex = -1;
+            for (int i = 0; i < indices.size(); ++i) {
+                final int index = indices.getInt(i);
+                if (index <= lastIndex) {
+                    continue;
                 }
-            }
-        }
-
-        // run all walkers
+                lastIndex = index;
 
-        final List<DataWalker<MapType<String>>> walkers = this.structureWalkers.getFloor(toVersion);
-        if (walkers != null) {
-            for (int i = 0, len = walkers.size(); i < len; ++i) {
-                final MapType<String> replace = walkers.get(i).walk(data, fromVersion, toVersion);
+                final MapType<String> replace = this.converters.get(index).convert(data, sourceVersion, toVersion);
                 if (replace != null) {
                     ret = data = replace;
                 }
-            }
-        }
 
-        final Long2ObjectArraySortedMap<List<DataWalker<MapType<String>>>> walkersByVersion = this.walkersById.get(data.getString("id"));
-        if (walkersByVersion != null) {
-            final List<DataWalker<MapType<String>>> walkersForId = walkersByVersion.getFloor(toVersion);
-            if (walkersForId != null) {
-                for (int i = 0, len = walkersForId.size(); i < len; ++i) {
-                    final MapType<String> replace = walkersForId.get(i).walk(data, fromVersion, toVersion);
-                    if (replace != null) {
-                        ret = data = replace;
+                final String newId = data.getString("id");
+                if (!id.equals(newId)) {
+                    // the id was changed, continue with the converters registered after this one for the new id
+                    if (newId == null || (indices = this.indicesById.get(newId)) == null) {
+                        break;
                     }
+                    id = newId;
+                    i = -1;
                 }
             }
-        }
-
-        // run post hooks
 
-        if (hooks != null) {
-            for (int klen = hooks.size(), k = klen - 1; k >= 0; --k) {
-                final MapType<String> postReplace = hooks.get(k).postHook(data, fromVersion, toVersion);
-                if (postReplace != null) {
-                    ret = data = postReplace;
-                }
-            }
+            return ret;
         }
-
-        return ret;
     }
 }
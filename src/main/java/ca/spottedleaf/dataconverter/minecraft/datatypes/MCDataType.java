@@ -9,23 +9,45 @@ import ca.spottedleaf.dataconverter.types.MapType;
 import ca.spottedleaf.dataconverter.util.Long2ObjectArraySortedMap;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
-public class MCDataType extends DataType<MapType<String>, MapType<String>> {
+public class MCDataType extends DataType<MapType<String>, MapType<String>> implements PlannedDataType {
 
     public final String name;
 
     protected final ArrayList<DataConverter<MapType<String>, MapType<String>>> structureConverters = new ArrayList<>();
     protected final Long2ObjectArraySortedMap<List<DataWalker<MapType<String>>>> structureWalkers = new Long2ObjectArraySortedMap<>();
     protected final Long2ObjectArraySortedMap<List<DataHook<MapType<String>, MapType<String>>>> structureHooks = new Long2ObjectArraySortedMap<>();
+    protected final ConversionPlan.Cache<MapType<String>, MapType<String>> plans = new ConversionPlan.Cache<>(this::createPlan);
+    // set once all converters are registered, after which the type only reads its registrations
+    protected boolean frozen;
 
     public MCDataType(final String name) {
         this.name = name;
     }
 
+    protected void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("Cannot register to " + this.name + " after the type registry is frozen");
+        }
+    }
+
+    void freeze() {
+        this.frozen = true;
+        this.structureConverters.trimToSize();
+        this.structureWalkers.replaceAll(List::copyOf);
+        this.structureWalkers.trimToSize();
+        this.structureHooks.replaceAll(List::copyOf);
+        this.structureHooks.trimToSize();
+        this.plans.clear();
+    }
+
     public void addStructureConverter(final DataConverter<MapType<String>, MapType<String>> converter) {
+        this.checkNotFrozen();
         MCVersionRegistry.checkVersion(converter.getEncodedVersion());
         this.structureConverters.add(converter);
         this.structureConverters.sort(DataConverter.LOWEST_VERSION_COMPARATOR);
+        this.plans.clear();
     }
 
     public void addStructureWalker(final int minVersion, final DataWalker<MapType<String>> walker) {
@@ -33,9 +55,20 @@ public class MCDataType extends DataType<MapType<String>, MapType<String>> {
     }
 
     public void addStructureWalker(final int minVersion, final int versionStep, final DataWalker<MapType<String>> walker) {
+        this.checkNotFrozen();
         this.structureWalkers.computeIfAbsent(DataConverter.encodeVersions(minVersion, versionStep), (final long keyInMap) -> {
             return new ArrayList<>();
         }).add(walker);
+        this.plans.clear();
+    }
+
+    public void addStructureWalker(final int minVersion, final DataWalker<MapType<String>> walker, final DataType<?, ?>... referencedTypes) {
+        this.addStructureWalker(minVersion, 0, walker, referencedTypes);
+    }
+
+    public void addStructureWalker(final int minVersion, final int versionStep, final DataWalker<MapType<String>> walker,
+                                   final DataType<?, ?>... referencedTypes) {
+        this.addStructureWalker(minVersion, versionStep, DataWalker.referencing(walker, referencedTypes));
     }
 
     public void addStructureHook(final int minVersion, final DataHook<MapType<String>, MapType<String>> hook) {
@@ -43,84 +76,96 @@ public class MCDataType extends DataType<MapType<String>, MapType<String>> {
     }
 
     public void addStructureHook(final int minVersion, final int versionStep, final DataHook<MapType<String>, MapType<String>> hook) {
+        this.checkNotFrozen();
         this.structureHooks.computeIfAbsent(DataConverter.encodeVersions(minVersion, versionStep), (final long keyInMap) -> {
             return new ArrayList<>();
         }).add(hook);
+        this.plans.clear();
+    }
+
+    protected ConversionPlan<MapType<String>, MapType<String>> createPlan(final long fromVersion, final long toVersion) {
+        return ConversionPlan.create(fromVersion, toVersion, this.structureConverters, this.structureHooks, this.structureWalkers, null);
     }
 
     @Override
-    public MapType<String> convert(MapType<String> data, final long fromVersion, final long toVersion) {
-        MapType<String> ret = null;
+    public ConversionPlan<MapType<String>, MapType<String>> getPlan(final long fromVersion, final long toVersion) {
+        return this.plans.get(fromVersion, toVersion);
+    }
 
-        final List<DataConverter<MapType<String>, MapType<String>>> converters = this.structureConverters;
-        for (int i = 0, len = converters.size(); i < len; ++i) {
-            final DataConverter<MapType<String>, MapType<String>> converter = converters.get(i);
-            final long converterVersion = converter.getEncodedVersion();
+    @Override
+    public boolean canChange(final long fromVersion, final long toVersion) {
+        return this.getPlan(fromVersion, toVersion).canChange();
+    }
 
-            if (converterVersion <= fromVersion) {
-                continue;
-            }
+    @Override
+    public MapType<String> convert(final MapType<String> data, final long fromVersion, final long toVersion) {
+        return this.convert(data, this.getPlan(fromVersion, toVersion));
+    }
 
-            if (converterVersion > toVersion) {
-                break;
-            }
+    public MapType<String> convert(MapType<String> data, final ConversionPlan<MapType<String>, MapType<String>> plan) {
+        final long fromVersion = plan.fromVersion;
+        final long toVersion = plan.toVersion;
 
-            List<DataHook<MapType<String>, MapType<String>>> hooks = this.structureHooks.getFloor(converterVersion);
+        MapType<String> ret = null;
 
-            if (hooks != null) {
-                for (int k = 0, klen = hooks.size(); k < klen; ++k) {
-                    final MapType<String> replace = hooks.get(k).preHook(data, fromVersion, toVersion);
-                    if (replace != null) {
-                        ret = data = replace;
-                    }
+        final DataConverter<MapType<String>, MapType<String>>[] converters = plan.converters;
+        final DataHook<MapType<String>, MapType<String>>[][] converterHooks = plan.converterHooks;
+        final DataHook<MapType<String>, MapType<String>>[] hooks = plan.hooks;
+        for (int i = 0, len = converters.length; i < len; ++i) {
+            final DataHook<MapType<String>, MapType<String>>[] preHooks = converterHooks[i];
+            for (int k = 0, klen = preHooks.length; k < klen; ++k) {
+                final MapType<String> replace = preHooks[k].preHook(data, fromVersion, toVersion);
+                if (replace != null) {
+                    ret = data = replace;
                 }
             }
 
-            final MapType<String> replace = converter.convert(data, fromVersion, toVersion);
+            final MapType<String> replace = converters[i].convert(data, fromVersion, toVersion);
             if (replace != null) {
                 ret = data = replace;
             }
 
             // possibly new data format, update hooks
-            hooks = this.structureHooks.getFloor(toVersion);
-
-            if (hooks != null) {
-                for (int klen = hooks.size(), k = klen - 1; k >= 0; --k) {
-                    final MapType<String> postReplace = hooks.get(k).postHook(data, fromVersion, toVersion);
-                    if (postReplace != null) {
-                        ret = data = postReplace;
-                    }
+            for (int klen = hooks.length, k = klen - 1; k >= 0; --k) {
+                final MapType<String> postReplace = hooks[k].postHook(data, fromVersion, toVersion);
+                if (postReplace != null) {
+                    ret = data = postReplace;
                 }
             }
         }
 
-        final List<DataHook<MapType<String>, MapType<String>>> hooks = this.structureHooks.getFloor(toVersion);
+        for (int k = 0, klen = hooks.length; k < klen; ++k) {
+            final MapType<String> replace = hooks[k].preHook(data, fromVersion, toVersion);
+            if (replace != null) {
+                ret = data = replace;
+            }
+        }
 
-        if (hooks != null) {
-            for (int k = 0, klen = hooks.size(); k < klen; ++k) {
-                final MapType<String> replace = hooks.get(k).preHook(data, fromVersion, toVersion);
-                if (replace != null) {
-                    ret = data = replace;
-                }
+        final DataWalker<MapType<String>>[] walkers = plan.getWalkers();
+        for (int i = 0, len = walkers.length; i < len; ++i) {
+            final MapType<String> replace = walkers[i].walk(data, fromVersion, toVersion);
+            if (replace != null) {
+                ret = data = replace;
             }
         }
 
-        final List<DataWalker<MapType<String>>> walkers = this.structureWalkers.getFloor(toVersion);
-        if (walkers != null) {
-            for (int i = 0, len = walkers.size(); i < len; ++i) {
-                final MapType<String> replace = walkers.get(i).walk(data, fromVersion, toVersion);
-                if (replace != null) {
-                    ret = data = replace;
+        final Map<String, DataWalker<MapType<String>>[]> walkersById = plan.getWalkersById();
+        if (walkersById != null) {
+            final DataWalker<MapType<String>>[] walkersForId = walkersById.get(data.getString("id"));
+            if (walkersForId != null) {
+                for (int i = 0, len = walkersForId.length; i < len; ++i) {
+                    final MapType<String> replace = walkersForId[i].walk(data, fromVersion, toVersion);
+                    if (replace != null) {
+                        ret = data = replace;
+                    }
                 }
             }
         }
 
-        if (hooks != null) {
-            for (int klen = hooks.size(), k = klen - 1; k >= 0; --k) {
-                final MapType<String> postReplace = hooks.get(k).postHook(data, fromVersion, toVersion);
-                if (postReplace != null) {
-                    ret = data = postReplace;
-                }
+        for (int klen = hooks.length, k = klen - 1; k >= 0; --k) {
+            final MapType<String> postReplace = hooks[k].postHook(data, fromVersion, toVersion);
+            if (postReplace != null) {
+                ret = data = postReplace;
             }
         }
 
@@ -1,56 +1,66 @@
 package ca.spottedleaf.dataconverter.minecraft.datatypes;
 
+import ca.spottedleaf.dataconverter.converters.datatypes.DataType;
 import ca.spottedleaf.dataconverter.minecraft.versions.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * The data types and their converters. Every type is frozen once all converters are registered during class
+ * initialisation, after which registering throws and the types are only ever read. As class initialisation
+ * happens-before any use of the types, conversions may run concurrently from any number of threads.
+ */
 public final class MCTypeRegistry {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MCTypeRegistry.class);
 
-    public static final MCDataType LEVEL              = new MCDataType("Level");
-    public static final MCDataType PLAYER             = new MCDataType("Player");
-    public static final MCDataType CHUNK              = new MCDataType("Chunk");
-    public static final MCDataType HOTBAR             = new MCDataType("CreativeHotbar");
-    public static final MCDataType OPTIONS            = new MCDataType("Options");
-    public static final MCDataType STRUCTURE          = new MCDataType("Structure");
-    public static final MCDataType STATS              = new MCDataType("Stats");
-    public static final MCDataType ADVANCEMENTS       = new MCDataType("Advancements");
-    public static final MCDataType POI_CHUNK          = new MCDataType("PoiChunk");
-    public static final MCDataType ENTITY_CHUNK       = new MCDataType("EntityChunk");
-    public static final IDDataType TILE_ENTITY        = new IDDataType("TileEntity");
-    public static final IDDataType ITEM_STACK         = new IDDataType("ItemStack");
-    public static final MCDataType BLOCK_STATE        = new MCDataType("BlockState");
-    public static final MCValueType FLAT_BLOCK_STATE  = new MCValueType("FlatBlockState");
-    public static final MCDataType DATA_COMPONENTS    = new MCDataType("DataComponents");
-    public static final MCDataType VILLAGER_TRADE     = new MCDataType("VillagerTrade");
-    public static final DynamicDataType PARTICLE      = new DynamicDataType("Particle");
-    public static final MCValueType ENTITY_NAME       = new MCValueType("EntityName");
-    public static final IDDataType ENTITY             = new IDDataType("Entity");
-    public static final MCValueType BLOCK_NAME        = new MCValueType("BlockName");
-    public static final MCValueType ITEM_NAME         = new MCValueType("ItemName");
-    public static final MCDataType UNTAGGED_SPAWNER   = new MCDataType("Spawner");
-    public static final MCDataType STRUCTURE_FEATURE  = new MCDataType("StructureFeature");
-    public static final MCDataType OBJECTIVE          = new MCDataType("Objective");
-    public static final MCDataType TEAM               = new MCDataType("Team");
-    public static final MCValueType RECIPE            = new MCValueType("RecipeName");
-    public static final MCValueType BIOME             = new MCValueType("Biome");
-    public static final MCDataType WORLD_GEN_SETTINGS = new MCDataType("WorldGenSettings");
-    public static final MCValueType GAME_EVENT_NAME   = new MCValueType("GameEventName");
+    private static final List<DataType<?, ?>> TYPES = new ArrayList<>();
 
-    public static final MCValueType MULTI_NOISE_BIOME_SOURCE_PARAMETER_LIST = new MCValueType("MultiNoiseBiomeSourceParameterList");
+    public static final MCDataType LEVEL              = register(new MCDataType("Level"));
+    public static final MCDataType PLAYER             = register(new MCDataType("Player"));
+    public static final MCDataType CHUNK              = register(new MCDataType("Chunk"));
+    public static final MCDataType HOTBAR             = register(new MCDataType("CreativeHotbar"));
+    public static final MCDataType OPTIONS            = register(new MCDataType("Options"));
+    public static final MCDataType STRUCTURE          = register(new MCDataType("Structure"));
+    public static final MCDataType STATS              = register(new MCDataType("Stats"));
+    public static final MCDataType ADVANCEMENTS       = register(new MCDataType("Advancements"));
+    public static final MCDataType POI_CHUNK          = register(new MCDataType("PoiChunk"));
+    public static final MCDataType ENTITY_CHUNK       = register(new MCDataType("EntityChunk"));
+    public static final IDDataType TILE_ENTITY        = register(new IDDataType("TileEntity"));
+    public static final IDDataType ITEM_STACK         = register(new IDDataType("ItemStack"));
+    public static final MCDataType BLOCK_STATE        = register(new MCDataType("BlockState"));
+    public static final MCValueType FLAT_BLOCK_STATE  = register(new MCValueType("FlatBlockState"));
+    public static final MCDataType DATA_COMPONENTS    = register(new MCDataType("DataComponents"));
+    public static final MCDataType VILLAGER_TRADE     = register(new MCDataType("VillagerTrade"));
+    public static final DynamicDataType PARTICLE      = register(new DynamicDataType("Particle"));
+    public static final MCValueType ENTITY_NAME       = register(new MCValueType("EntityName", true));
+    public static final IDDataType ENTITY             = register(new IDDataType("Entity"));
+    public static final MCValueType BLOCK_NAME        = register(new MCValueType("BlockName", true));
+    public static final MCValueType ITEM_NAME         = register(new MCValueType("ItemName", true));
+    public static final MCDataType UNTAGGED_SPAWNER   = register(new MCDataType("Spawner"));
+    public static final MCDataType STRUCTURE_FEATURE  = register(new MCDataType("StructureFeature"));
+    public static final MCDataType OBJECTIVE          = register(new MCDataType("Objective"));
+    public static final MCDataType TEAM               = register(new MCDataType("Team"));
+    public static final MCValueType RECIPE            = register(new MCValueType("RecipeName", true));
+    public static final MCValueType BIOME             = register(new MCValueType("Biome", true));
+    public static final MCDataType WORLD_GEN_SETTINGS = register(new MCDataType("WorldGenSettings"));
+    public static final MCValueType GAME_EVENT_NAME   = register(new MCValueType("GameEventName", true));
 
-    public static final MCDataType SAVED_DATA_RANDOM_SEQUENCES          = new MCDataType("SavedData/RandomSequences");
-    public static final MCDataType SAVED_DATA_SCOREBOARD                = new MCDataType("SavedData/Scoreboard");
-    public static final MCDataType SAVED_DATA_STRUCTURE_FEATURE_INDICES = new MCDataType("SavedData/StructureFeatureIndices");
-    public static final MCDataType SAVED_DATA_MAP_DATA                  = new MCDataType("SavedData/MapData");
-    public static final MCDataType SAVED_DATA_RAIDS                     = new MCDataType("SavedData/Raids");
-    public static final MCDataType SAVED_DATA_COMMAND_STORAGE           = new MCDataType("SavedData/CommandStorage");
-    public static final MCDataType SAVED_DATA_FORCED_CHUNKS             = new MCDataType("SavedData/Chunks");
-    public static final MCDataType SAVED_DATA_MAP_INDEX                 = new MCDataType("SavedData/IdCounts");
+    public static final MCValueType MULTI_NOISE_BIOME_SOURCE_PARAMETER_LIST = register(new MCValueType("MultiNoiseBiomeSourceParameterList"));
 
-    public static final MCValueType DATACONVERTER_CUSTOM_TYPE_COMMAND = new MCValueType("DC_Custom/Command");
+    public static final MCDataType SAVED_DATA_RANDOM_SEQUENCES          = register(new MCDataType("SavedData/RandomSequences"));
+    public static final MCDataType SAVED_DATA_SCOREBOARD                = register(new MCDataType("SavedData/Scoreboard"));
+    public static final MCDataType SAVED_DATA_STRUCTURE_FEATURE_INDICES = register(new MCDataType("SavedData/StructureFeatureIndices"));
+    public static final MCDataType SAVED_DATA_MAP_DATA                  = register(new MCDataType("SavedData/MapData"));
+    public static final MCDataType SAVED_DATA_RAIDS                     = register(new MCDataType("SavedData/Raids"));
+    public static final MCDataType SAVED_DATA_COMMAND_STORAGE           = register(new MCDataType("SavedData/CommandStorage"));
+    public static final MCDataType SAVED_DATA_FORCED_CHUNKS             = register(new MCDataType("SavedData/Chunks"));
+    public static final MCDataType SAVED_DATA_MAP_INDEX                 = register(new MCDataType("SavedData/IdCounts"));
+
+    public static final MCValueType DATACONVERTER_CUSTOM_TYPE_COMMAND = register(new MCValueType("DC_Custom/Command"));
 
     static {
         LOGGER.info("Initialising converters for DataConverter...");
@@ -58,6 +68,7 @@ public final class MCTypeRegistry {
         final long start = System.nanoTime();
         try {
             registerAll();
+            freezeAll();
         } catch (final Throwable thr) {
             LOGGER.error("Failed to register data converters", thr);
             throw new RuntimeException(thr);
@@ -71,6 +82,22 @@ public final class MCTypeRegistry {
 
     public static void init() {}
 
+    private static <T extends DataType<?, ?>> T register(final T type) {
+        TYPES.add(type);
+        return type;
+    }
+
+    private static void freezeAll() {
+        for (final DataType<?, ?> type : TYPES) {
+            switch (type) {
+                case MCDataType dataType -> dataType.freeze();
+                case MCValueType valueType -> valueType.freeze();
+                case DynamicDataType dynamicType -> dynamicType.freeze();
+                default -> throw new IllegalStateException("Unknown type " + type);
+            }
+        }
+    }
+
     private static void registerAll() {
         // General notes:
         // - Structure converters run before everything.
@@ -4,19 +4,50 @@ import ca.spottedleaf.dataconverter.converters.DataConverter;
 import ca.spottedleaf.dataconverter.converters.datatypes.DataHook;
 import ca.spottedleaf.dataconverter.converters.datatypes.DataType;
 import ca.spottedleaf.dataconverter.minecraft.MCVersionRegistry;
+import ca.spottedleaf.dataconverter.minecraft.hooks.DataHookValueTypeEnforceNamespaced;
 import ca.spottedleaf.dataconverter.util.Long2ObjectArraySortedMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
-public class MCValueType extends DataType<Object, Object> {
+public class MCValueType extends DataType<Object, Object> implements PlannedDataType {
 
     public final String name;
+    // whether every converter and hook of this type is a pure function of a string value, so its results may be memoized
+    protected final boolean pure;
 
     protected final ArrayList<DataConverter<Object, Object>> converters = new ArrayList<>();
     protected final Long2ObjectArraySortedMap<List<DataHook<Object, Object>>> structureHooks = new Long2ObjectArraySortedMap<>();
+    protected final ConversionPlan.Cache<Object, Object> plans = new ConversionPlan.Cache<>(this::createPlan);
+    // set once all converters are registered, after which the type only reads its registrations
+    protected boolean frozen;
+    // null unless memoization is enabled
+    private volatile Memoizer memoizer;
 
     public MCValueType(final String name) {
+        this(name, false);
+    }
+
+    public MCValueType(final String name, final boolean pure) {
         this.name = name;
+        this.pure = pure;
+    }
+
+    protected void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("Cannot register to " + this.name + " after the type registry is frozen");
+        }
+    }
+
+    void freeze() {
+        this.frozen = true;
+        this.converters.trimToSize();
+        this.structureHooks.replaceAll(List::copyOf);
+        this.structureHooks.trimToSize();
+        this.plans.clear();
     }
 
     public void addStructureHook(final int minVersion, final DataHook<Object, Object> hook) {
@@ -24,63 +55,268 @@ public class MCValueType extends DataType<Object, Object> {
     }
 
     public void addStructureHook(final int minVersion, final int versionStep, final DataHook<Object, Object> hook) {
+        this.checkNotFrozen();
         this.structureHooks.computeIfAbsent(DataConverter.encodeVersions(minVersion, versionStep), (final long keyInMap) -> {
             return new ArrayList<>();
         }).add(hook);
+        this.plans.clear();
     }
 
     public void addConverter(final DataConverter<Object, Object> converter) {
+        this.checkNotFrozen();
         MCVersionRegistry.checkVersion(converter.getEncodedVersion());
         this.converters.add(converter);
         this.converters.sort(DataConverter.LOWEST_VERSION_COMPARATOR);
+        this.plans.clear();
     }
 
-    @Override
-    public Object convert(final Object data, final long fromVersion, final long toVersion) {
-        Object ret = null;
-        final List<DataConverter<Object, Object>> converters = this.converters;
+    /**
+     * Caches the results of converting string values, so that each distinct value is converted once per version
+     * range. This is only correct if every converter and hook of this type is a pure function of the value, so only
+     * types registered as pure (the name types) support it. At most {@code maxEntries} results are cached in total,
+     * across all version ranges.
+     */
+    public void enableMemoization(final int maxEntries) {
+        if (!this.pure) {
+            throw new IllegalStateException("Cannot memoize " + this.name + ", as its converters are not registered as pure");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive: " + maxEntries);
+        }
+        this.memoizer = new Memoizer(maxEntries);
+    }
+
+    public void disableMemoization() {
+        this.memoizer = null;
+    }
 
-        for (int i = 0, len = converters.size(); i < len; ++i) {
-            final DataConverter<Object, Object> converter = converters.get(i);
-            final long converterVersion = converter.getEncodedVersion();
+    /**
+     * Returns the statistics since memoization was last enabled, or {@code null} if it is disabled.
+     */
+    public MemoizationStats getMemoizationStats() {
+        final Memoizer memoizer = this.memoizer;
+        return memoizer == null ? null : memoizer.getStats();
+    }
+
+    protected ConversionPlan<Object, Object> createPlan(final long fromVersion, final long toVersion) {
+        return composeRenames(ConversionPlan.create(fromVersion, toVersion, this.converters, this.structureHooks, null, null));
+    }
 
-            if (converterVersion <= fromVersion) {
-                continue;
+    // replaces each run of consecutive table renames in the plan with one lookup in the composed table
+    private static ConversionPlan<Object, Object> composeRenames(final ConversionPlan<Object, Object> plan) {
+        final DataConverter<Object, Object>[] converters = plan.converters;
+        final DataHook<Object, Object>[][] converterHooks = plan.converterHooks;
+        if (converters.length < 2 || !isNamespaceCorrection(plan.hooks)) {
+            return plan;
+        }
+
+        final List<DataConverter<Object, Object>> newConverters = new ArrayList<>(converters.length);
+        final List<DataHook<Object, Object>[]> newConverterHooks = new ArrayList<>(converters.length);
+
+        for (int i = 0, len = converters.length; i < len;) {
+            int end = i + 1;
+            if (converters[i] instanceof ValueRenameConverter && isNamespaceCorrection(converterHooks[i])) {
+                while (end < len && converters[end] instanceof ValueRenameConverter && Arrays.equals(converterHooks[i], converterHooks[end])) {
+                    ++end;
+                }
             }
 
-            if (converterVersion > toVersion) {
-                break;
+            final List<ValueRenameConverter> run = new ArrayList<>(end - i);
+            for (int k = i; k < end; ++k) {
+                if (converters[k] instanceof ValueRenameConverter renamer) {
+                    run.add(renamer);
+                }
             }
 
-            List<DataHook<Object, Object>> hooks = this.structureHooks.getFloor(converterVersion);
+            if (run.size() > 1 && isCorrectedNamespace(run, converterHooks[i], plan)) {
+                newConverters.add(ValueRenameConverter.compose(run));
+                newConverterHooks.add(converterHooks[i]);
+            } else {
+                for (int k = i; k < end; ++k) {
+                    newConverters.add(converters[k]);
+                    newConverterHooks.add(converterHooks[k]);
+                }
+            }
+
+            i = end;
+        }
+
+        if (newConverters.size() == converters.length) {
+            return plan;
+        }
+
+        return plan.withConverters(newConverters.toArray(new DataConverter[0]), newConverterHooks.toArray(new DataHook[0][]));
+    }
+
+    // namespace correction is idempotent and does nothing after the converter, so running it before each rename
+    // has the same result as running it once before the composed rename
+    private static boolean isNamespaceCorrection(final DataHook<Object, Object>[] hooks) {
+        for (final DataHook<Object, Object> hook : hooks) {
+            if (hook.getClass() != DataHookValueTypeEnforceNamespaced.class) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-            if (hooks != null) {
-                for (int k = 0, klen = hooks.size(); k < klen; ++k) {
-                    final Object replace = hooks.get(k).preHook(ret == null ? data : ret, fromVersion, toVersion);
-                    if (replace != null) {
-                        ret = replace;
+    // as long as the renamed values are not corrected again before the next rename
+    private static boolean isCorrectedNamespace(final List<ValueRenameConverter> run, final DataHook<Object, Object>[] hooks,
+                                                final ConversionPlan<Object, Object> plan) {
+        for (final ValueRenameConverter converter : run) {
+            for (final String renamed : converter.getRenames().values()) {
+                for (final DataHook<Object, Object> hook : hooks) {
+                    if (hook.preHook(renamed, plan.fromVersion, plan.toVersion) != null) {
+                        return false;
                     }
                 }
             }
+        }
+        return true;
+    }
+
+    @Override
+    public ConversionPlan<Object, Object> getPlan(final long fromVersion, final long toVersion) {
+        return this.plans.get(fromVersion, toVersion);
+    }
 
-            final Object converted = converter.convert(ret == null ? data : ret, fromVersion, toVersion);
+    @Override
+    public boolean canChange(final long fromVersion, final long toVersion) {
+        return this.getPlan(fromVersion, toVersion).canChange();
+    }
+
+    @Override
+    public Object convert(final Object data, final long fromVersion, final long toVersion) {
+        return this.convert(data, this.getPlan(fromVersion, toVersion));
+    }
+
+    public Object convert(final Object data, final ConversionPlan<Object, Object> plan) {
+        final Memoizer memoizer = this.memoizer;
+        if (memoizer == null || plan.converters.length == 0 || !(data instanceof String value)) {
+            return this.convertUncached(data, plan);
+        }
+
+        return memoizer.convert(this, value, plan);
+    }
+
+    private Object convertUncached(final Object data, final ConversionPlan<Object, Object> plan) {
+        final long fromVersion = plan.fromVersion;
+        final long toVersion = plan.toVersion;
+
+        Object ret = null;
+
+        final DataConverter<Object, Object>[] converters = plan.converters;
+        final DataHook<Object, Object>[][] converterHooks = plan.converterHooks;
+        final DataHook<Object, Object>[] hooks = plan.hooks;
+        for (int i = 0, len = converters.length; i < len; ++i) {
+            final DataHook<Object, Object>[] preHooks = converterHooks[i];
+            for (int k = 0, klen = preHooks.length; k < klen; ++k) {
+                final Object replace = preHooks[k].preHook(ret == null ? data : ret, fromVersion, toVersion);
+                if (replace != null) {
+                    ret = replace;
+                }
+            }
+
+            final Object converted = converters[i].convert(ret == null ? data : ret, fromVersion, toVersion);
             if (converted != null) {
                 ret = converted;
             }
 
             // possibly new data format, update hooks
-            hooks = this.structureHooks.getFloor(toVersion);
-
-            if (hooks != null) {
-                for (int k = 0, klen = hooks.size(); k < klen; ++k) {
-                    final Object replace = hooks.get(k).postHook(ret == null ? data : ret, fromVersion, toVersion);
-                    if (replace != null) {
-                        ret = replace;
-                    }
+            for (int k = 0, klen = hooks.length; k < klen; ++k) {
+                final Object replace = hooks[k].postHook(ret == null ? data : ret, fromVersion, toVersion);
+                if (replace != null) {
+                    ret = replace;
                 }
             }
         }
 
         return ret;
     }
+
+    public static record MemoizationStats(long hits, long misses, int entries) {}
+
+    private static final class Memoizer {
+
+        // cached for values the converters leave unchanged, as the maps do not allow null values
+        private static final Object UNCHANGED = new Object();
+
+        private final int maxEntries;
+        private final ConcurrentHashMap<ConversionPlan<Object, Object>, ConcurrentHashMap<String, Object>> resultsByPlan = new ConcurrentHashMap<>();
+        // the results cached across all plans
+        private final AtomicInteger entries = new AtomicInteger();
+        // bulk conversions almost always convert between the same versions, so avoid the map lookup for those
+        private volatile PlanResults last;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private Memoizer(final int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        // returns null if the plan has no results and the cache is full, so that new ranges add no tables either
+        private ConcurrentHashMap<String, Object> getResults(final ConversionPlan<Object, Object> plan) {
+            final PlanResults last = this.last;
+            if (last != null && last.plan() == plan) {
+                return last.results();
+            }
+
+            ConcurrentHashMap<String, Object> ret = this.resultsByPlan.get(plan);
+            if (ret == null) {
+                if (this.entries.get() >= this.maxEntries) {
+                    return null;
+                }
+                ret = this.resultsByPlan.computeIfAbsent(plan, (final ConversionPlan<Object, Object> keyInMap) -> {
+                    return new ConcurrentHashMap<>();
+                });
+            }
+            this.last = new PlanResults(plan, ret);
+
+            return ret;
+        }
+
+        // reserves space for one result, returning false if the cache is full
+        private boolean reserveEntry() {
+            int entries;
+            do {
+                entries = this.entries.get();
+                if (entries >= this.maxEntries) {
+                    return false;
+                }
+            } while (!this.entries.compareAndSet(entries, entries + 1));
+
+            return true;
+        }
+
+        private Object convert(final MCValueType type, final String value, final ConversionPlan<Object, Object> plan) {
+            final ConcurrentHashMap<String, Object> results = this.getResults(plan);
+            if (results == null) {
+                this.misses.increment();
+                return type.convertUncached(value, plan);
+            }
+
+            final Object cached = results.get(value);
+            if (cached != null) {
+                this.hits.increment();
+                return cached == UNCHANGED ? null : cached;
+            }
+            this.misses.increment();
+
+            final Object ret = type.convertUncached(value, plan);
+            // only immutable results can be shared, and the cache stops growing once full
+            if ((ret == null || ret instanceof String) && this.reserveEntry()) {
+                if (results.putIfAbsent(value, ret == null ? UNCHANGED : ret) != null) {
+                    // another thread cached the value first
+                    this.entries.decrementAndGet();
+                }
+            }
+
+            return ret;
+        }
+
+        private MemoizationStats getStats() {
+            return new MemoizationStats(this.hits.sum(), this.misses.sum(), this.entries.get());
+        }
+
+        private static record PlanResults(ConversionPlan<Object, Object> plan, ConcurrentHashMap<String, Object> results) {}
+    }
 }
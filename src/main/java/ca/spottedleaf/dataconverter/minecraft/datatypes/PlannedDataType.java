@@ -0,0 +1,7 @@
+package ca.spottedleaf.dataconverter.minecraft.datatypes;
+
+interface PlannedDataType {
+
+    public ConversionPlan<?, ?> getPlan(final long fromVersion, final long toVersion);
+
+}
@@ -0,0 +1,60 @@
+package ca.spottedleaf.dataconverter.minecraft.datatypes;
+
+import ca.spottedleaf.dataconverter.converters.DataConverter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renames string values using a declared table. As the table is known, {@link MCValueType} composes consecutive
+ * renames in a conversion plan into one table, so that converting across many versions is a single lookup.
+ */
+public final class ValueRenameConverter extends DataConverter<Object, Object> {
+
+    private final Map<String, String> renames;
+
+    public ValueRenameConverter(final int toVersion, final int versionStep, final Map<String, String> renames) {
+        super(toVersion, versionStep);
+        this.renames = Map.copyOf(renames);
+    }
+
+    public Map<String, String> getRenames() {
+        return this.renames;
+    }
+
+    @Override
+    public Object convert(final Object data, final long sourceVersion, final long toVersion) {
+        if (!(data instanceof String string)) {
+            return null;
+        }
+
+        final String ret = this.renames.get(string);
+        return ret == null || ret.equals(string) ? null : ret;
+    }
+
+    /**
+     * Creates a converter with the same result as running the specified converters in order, at the version of the
+     * last converter.
+     */
+    static ValueRenameConverter compose(final List<ValueRenameConverter> converters) {
+        final Map<String, String> ret = new HashMap<>();
+
+        for (final ValueRenameConverter converter : converters) {
+            final Map<String, String> renames = converter.renames;
+            // values already renamed are renamed again
+            for (final Map.Entry<String, String> entry : ret.entrySet()) {
+                final String renamed = renames.get(entry.getValue());
+                if (renamed != null) {
+                    entry.setValue(renamed);
+                }
+            }
+            // while keys already renamed never reach this converter
+            for (final Map.Entry<String, String> entry : renames.entrySet()) {
+                ret.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+
+        final ValueRenameConverter last = converters.get(converters.size() - 1);
+        return new ValueRenameConverter(last.getToVersion(), last.getVersionStep(), ret);
+    }
+}
@@ -132,7 +132,7 @@ public final class V100 {
             WalkerUtils.convertList(MCTypeRegistry.ITEM_STACK, data, "HandItems", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ITEM_STACK, MCTypeRegistry.VILLAGER_TRADE);
         registerMob("Shulker");
         MCTypeRegistry.ENTITY.addWalker(VERSION, "AreaEffectCloud", new DataWalkerTypePaths<>(MCTypeRegistry.PARTICLE, "Particle"));
 
@@ -151,10 +151,10 @@ public final class V100 {
                 }
             }
 
-            WalkerUtils.convertList(MCTypeRegistry.BLOCK_STATE, data, "palette", fromVersion, toVersion);
+            WalkerUtils.convertPalette(MCTypeRegistry.BLOCK_STATE, data, "palette", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.BLOCK_STATE, MCTypeRegistry.ENTITY, MCTypeRegistry.TILE_ENTITY);
     }
 
     private V100() {}
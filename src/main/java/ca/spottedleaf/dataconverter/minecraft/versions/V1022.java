@@ -28,7 +28,7 @@ public final class V1022 {
             }
 
             return null;
-        });
+        }, MCTypeRegistry.ENTITY, MCTypeRegistry.ITEM_STACK, MCTypeRegistry.RECIPE);
 
         MCTypeRegistry.HOTBAR.addStructureWalker(VERSION, (final MapType<String> data, final long fromVersion, final long toVersion) -> {
             for (final String key : data.keys()) {
@@ -36,7 +36,7 @@ public final class V1022 {
             }
 
             return null;
-        });
+        }, MCTypeRegistry.ITEM_STACK);
     }
 
     private V1022() {}
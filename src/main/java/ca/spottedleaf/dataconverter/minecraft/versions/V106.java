@@ -76,7 +76,7 @@ public final class V106 {
             WalkerUtils.convert(MCTypeRegistry.ENTITY, data, "SpawnData", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ENTITY);
     }
 
     private V106() {}
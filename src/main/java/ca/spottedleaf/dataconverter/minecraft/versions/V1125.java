@@ -42,7 +42,7 @@ public final class V1125 {
                     final MapType<String> section = sections.getMap(i);
 
                     final byte sectionY = section.getByte("Y");
-                    final byte[] blocks = section.getBytes("Blocks");
+                    final byte[] blocks = section.borrowBytes("Blocks");
 
                     if (blocks == null) {
                         continue;
@@ -91,7 +91,7 @@ public final class V1125 {
             WalkerUtils.convertKeys(MCTypeRegistry.ENTITY_NAME, data.getMap("minecraft:adventure/bred_all_animals"), "criteria", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.BIOME, MCTypeRegistry.ENTITY_NAME);
 
         // Enforce namespacing for ids
         MCTypeRegistry.BIOME.addStructureHook(VERSION, new DataHookValueTypeEnforceNamespaced());
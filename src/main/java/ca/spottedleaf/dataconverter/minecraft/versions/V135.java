@@ -48,13 +48,13 @@ public final class V135 {
             WalkerUtils.convertList(MCTypeRegistry.ENTITY, data, "ender_pearls", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ENTITY);
 
         MCTypeRegistry.ENTITY.addStructureWalker(VERSION, (final MapType<String> data, final long fromVersion, final long toVersion) -> {
             WalkerUtils.convertList(MCTypeRegistry.ENTITY, data, "Passengers", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ENTITY);
 
     }
 
@@ -68,12 +68,12 @@ public final class V1451 {
             if (sections != null) {
                 for (int i = 0, len = sections.size(); i < len; ++i) {
                     final MapType<String> section = sections.getMap(i);
-                    WalkerUtils.convertList(MCTypeRegistry.BLOCK_STATE, section, "Palette", fromVersion, toVersion);
+                    WalkerUtils.convertPalette(MCTypeRegistry.BLOCK_STATE, section, "Palette", fromVersion, toVersion);
                 }
             }
 
             return null;
-        });
+        }, MCTypeRegistry.BLOCK_NAME, MCTypeRegistry.BLOCK_STATE, MCTypeRegistry.ENTITY, MCTypeRegistry.TILE_ENTITY);
 
         // V2
         MCTypeRegistry.TILE_ENTITY.addConverterForId("minecraft:piston", new DataConverter<>(VERSION, 2) {
@@ -130,7 +130,7 @@ public final class V1451 {
         MCTypeRegistry.ENTITY.addWalker(VERSION, 3, "minecraft:spawner_minecart", (final MapType<String> data, final long fromVersion, final long toVersion) -> {
             MCTypeRegistry.UNTAGGED_SPAWNER.convert(data, fromVersion, toVersion);
             return null;
-        });
+        }, MCTypeRegistry.UNTAGGED_SPAWNER);
         MCTypeRegistry.ENTITY.addWalker(VERSION, 3, "minecraft:tnt_minecart", new DataWalkerTypePaths<>(MCTypeRegistry.BLOCK_STATE, "DisplayState"));
 
         // V4
@@ -308,7 +308,7 @@ public final class V1451 {
             WalkerUtils.convertKeys(MCTypeRegistry.ENTITY_NAME, stats, "minecraft:killed_by", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.BLOCK_NAME, MCTypeRegistry.ENTITY_NAME, MCTypeRegistry.ITEM_NAME);
 
         MCTypeRegistry.OBJECTIVE.addStructureHook(VERSION, 6, new DataHook<>() {
             @Override
@@ -414,7 +414,7 @@ public final class V1451 {
             }
 
             return null;
-        });
+        }, MCTypeRegistry.BLOCK_NAME, MCTypeRegistry.ENTITY_NAME, MCTypeRegistry.ITEM_NAME);
 
 
         // V7
@@ -507,7 +507,7 @@ public final class V1451 {
             }
 
             return null;
-        });
+        }, MCTypeRegistry.BLOCK_STATE);
     }
 
     private V1451() {
@@ -54,13 +54,13 @@ public final class V1466 {
                 level.setBoolean("hasLegacyStructureData", true);
 
                 // convert biome byte[] into int[]
-                final byte[] biomes = level.getBytes("Biomes");
+                final byte[] biomes = level.borrowBytes("Biomes");
                 if (biomes != null) {
                     final int[] newBiomes = new int[256];
                     for (int i = 0, len = Math.min(newBiomes.length, biomes.length); i < len; ++i) {
                         newBiomes[i] = biomes[i] & 255;
                     }
-                    level.setInts("Biomes", newBiomes);
+                    level.adoptInts("Biomes", newBiomes);
                 }
 
                 // ProtoChunks have their own dedicated tick list, so we must convert the TileTicks to that.
@@ -111,14 +111,14 @@ public final class V1466 {
             if (sections != null) {
                 for (int i = 0, len = sections.size(); i < len; ++i) {
                     final MapType<String> section = sections.getMap(i);
-                    WalkerUtils.convertList(MCTypeRegistry.BLOCK_STATE, section, "Palette", fromVersion, toVersion);
+                    WalkerUtils.convertPalette(MCTypeRegistry.BLOCK_STATE, section, "Palette", fromVersion, toVersion);
                 }
             }
 
             WalkerUtils.convertValues(MCTypeRegistry.STRUCTURE_FEATURE, level.getMap("Structures"), "Starts", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.BLOCK_NAME, MCTypeRegistry.BLOCK_STATE, MCTypeRegistry.ENTITY, MCTypeRegistry.STRUCTURE_FEATURE, MCTypeRegistry.TILE_ENTITY);
         MCTypeRegistry.STRUCTURE_FEATURE.addStructureWalker(VERSION, (final MapType<String> data, final long fromVersion, final long toVersion) -> {
             final ListType list = data.getList("Children", ObjectType.MAP);
             if (list != null) {
@@ -135,7 +135,7 @@ public final class V1466 {
             WalkerUtils.convert(MCTypeRegistry.BIOME, data, "biome", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.BIOME, MCTypeRegistry.BLOCK_STATE);
     }
 
     private V1466() {}
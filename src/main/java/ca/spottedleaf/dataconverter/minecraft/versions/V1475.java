@@ -14,7 +14,7 @@ public final class V1475 {
         ConverterAbstractBlockRename.register(VERSION, Map.of(
                 "minecraft:flowing_water", "minecraft:water",
                 "minecraft:flowing_lava", "minecraft:lava"
-        )::get);
+        ));
     }
 
     private V1475() {
@@ -34,8 +34,8 @@ public final class V1480 {
     );
 
     public static void register() {
-        ConverterAbstractBlockRename.register(VERSION, RENAMED_IDS::get);
-        ConverterAbstractItemRename.register(VERSION, RENAMED_IDS::get);
+        ConverterAbstractBlockRename.register(VERSION, RENAMED_IDS);
+        ConverterAbstractItemRename.register(VERSION, RENAMED_IDS);
     }
 
     private V1480() {
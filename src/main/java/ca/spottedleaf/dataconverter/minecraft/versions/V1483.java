@@ -16,10 +16,10 @@ public final class V1483 {
     public static void register() {
         ConverterAbstractEntityRename.register(VERSION, Map.of(
                 "minecraft:puffer_fish", "minecraft:pufferfish"
-        )::get);
+        ));
         ConverterAbstractItemRename.register(VERSION, Map.of(
                 "minecraft:puffer_fish_spawn_egg", "minecraft:pufferfish_spawn_egg"
-        )::get);
+        ));
 
         MCTypeRegistry.ENTITY.copyWalkers(VERSION, "minecraft:puffer_fish", "minecraft:pufferfish");
     }
@@ -19,8 +19,8 @@ public final class V1484 {
                 "minecraft:tall_sea_grass", "minecraft:tall_seagrass"
         );
 
-        ConverterAbstractItemRename.register(VERSION, renamed::get);
-        ConverterAbstractBlockRename.register(VERSION, renamed::get);
+        ConverterAbstractItemRename.register(VERSION, renamed);
+        ConverterAbstractBlockRename.register(VERSION, renamed);
 
         MCTypeRegistry.CHUNK.addStructureConverter(new DataConverter<>(VERSION) {
             @Override
@@ -26,8 +26,8 @@ public final class V1486 {
         MCTypeRegistry.ENTITY.copyWalkers(VERSION, "minecraft:cod_mob", "minecraft:cod");
         MCTypeRegistry.ENTITY.copyWalkers(VERSION, "minecraft:salmon_mob", "minecraft:salmon");
 
-        ConverterAbstractEntityRename.register(VERSION, RENAMED_ENTITY_IDS::get);
-        ConverterAbstractItemRename.register(VERSION, RENAMED_ITEM_IDS::get);
+        ConverterAbstractEntityRename.register(VERSION, RENAMED_ENTITY_IDS);
+        ConverterAbstractItemRename.register(VERSION, RENAMED_ITEM_IDS);
     }
 
     private V1486() {
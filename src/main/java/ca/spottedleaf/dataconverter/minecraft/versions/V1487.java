@@ -16,8 +16,8 @@ public final class V1487 {
                 "minecraft:prismarine_bricks_stairs", "minecraft:prismarine_brick_stairs"
         );
 
-        ConverterAbstractItemRename.register(VERSION, remap::get);
-        ConverterAbstractBlockRename.register(VERSION, remap::get);
+        ConverterAbstractItemRename.register(VERSION, remap);
+        ConverterAbstractBlockRename.register(VERSION, remap);
     }
 
     private V1487() {
@@ -25,10 +25,10 @@ public final class V1488 {
         ConverterAbstractBlockRename.register(VERSION, Map.of(
                 "minecraft:kelp_top", "minecraft:kelp",
                 "minecraft:kelp", "minecraft:kelp_plant"
-        )::get);
+        ));
         ConverterAbstractItemRename.register(VERSION, Map.of(
                 "minecraft:kelp_top", "minecraft:kelp"
-        )::get);
+        ));
 
         // Don't ask me why in V1458 they wrote the converter to NOT do command blocks and THEN in THIS version
         // to ONLY do command blocks. I don't know.
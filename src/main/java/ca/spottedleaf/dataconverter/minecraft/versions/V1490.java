@@ -15,12 +15,12 @@ public final class V1490 {
     public static void register() {
         ConverterAbstractBlockRename.register(VERSION, Map.of(
                 "minecraft:melon_block", "minecraft:melon"
-        )::get);
+        ));
         ConverterAbstractItemRename.register(VERSION, Map.of(
                 "minecraft:melon_block", "minecraft:melon",
                 "minecraft:melon", "minecraft:melon_slice",
                 "minecraft:speckled_melon", "minecraft:glistering_melon_slice"
-        )::get);
+        ));
     }
 
     private V1490() {
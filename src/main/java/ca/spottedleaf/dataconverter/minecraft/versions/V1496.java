@@ -1,20 +1,20 @@
 package ca.spottedleaf.dataconverter.minecraft.versions;
 
 import ca.spottedleaf.dataconverter.converters.DataConverter;
+import ca.spottedleaf.dataconverter.minecraft.MCKeys;
 import ca.spottedleaf.dataconverter.minecraft.MCVersions;
+import ca.spottedleaf.dataconverter.minecraft.converters.chunk.ChunkVolume;
 import ca.spottedleaf.dataconverter.minecraft.datatypes.MCTypeRegistry;
 import ca.spottedleaf.dataconverter.types.ListType;
 import ca.spottedleaf.dataconverter.types.MapType;
 import ca.spottedleaf.dataconverter.types.ObjectType;
 import ca.spottedleaf.dataconverter.types.Types;
 import ca.spottedleaf.dataconverter.util.IntegerUtil;
-import ca.spottedleaf.dataconverter.util.PaletteData;
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
-import it.unimi.dsi.fastutil.ints.IntIterator;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -22,15 +22,6 @@ public final class V1496 {
 
     private static final int VERSION = MCVersions.V18W21B;
 
-    private static final int[][] DIRECTIONS = new int[][]{
-            new int[]{-1, 0, 0},
-            new int[]{1, 0, 0},
-            new int[]{0, -1, 0},
-            new int[]{0, 1, 0},
-            new int[]{0, 0, -1},
-            new int[]{0, 0, 1}
-    };
-
     private static final Object2IntOpenHashMap<String> LEAVES_TO_ID = new Object2IntOpenHashMap<>();
 
     static {
@@ -69,12 +60,12 @@ public final class V1496 {
         MCTypeRegistry.CHUNK.addStructureConverter(new DataConverter<>(VERSION) {
             @Override
             public MapType<String> convert(final MapType<String> data, final long sourceVersion, final long toVersion) {
-                final MapType<String> level = data.getMap("Level");
+                final MapType<String> level = data.getMap(MCKeys.LEVEL);
                 if (level == null) {
                     return null;
                 }
 
-                final ListType sectionsNBT = level.getList("Sections", ObjectType.MAP);
+                final ListType sectionsNBT = level.getList(MCKeys.SECTIONS, ObjectType.MAP);
                 if (sectionsNBT == null) {
                     return null;
                 }
@@ -94,65 +85,58 @@ public final class V1496 {
                     return null;
                 }
 
-                final IntOpenHashSet[] positionsByDistance = new IntOpenHashSet[7];
-                for (int i = 0; i < positionsByDistance.length; ++i) {
-                    positionsByDistance[i] = new IntOpenHashSet();
-                }
-
-                for (final LeavesSection section : sections) {
-                    if (section == null || section.isSkippable()) {
-                        continue;
-                    }
+                final ChunkVolume volume = ChunkVolume.acquire();
+                try {
+                    for (final LeavesSection section : sections) {
+                        if (section == null || section.isSkippable()) {
+                            continue;
+                        }
 
-                    for (int index = 0; index < 4096; ++index) {
-                        final int block = section.getBlock(index);
-                        if (section.isLog(block)) {
-                            positionsByDistance[0].add(section.getSectionY() << 12 | index);
-                        } else if (section.isLeaf(block)) {
-                            int x = getX(index);
-                            int z = getZ(index);
-                            newSides |= getSideMask(x == 0, x == 15, z == 0, z == 15);
+                        for (int index = 0; index < 4096; ++index) {
+                            final int block = section.getBlock(index);
+                            if (section.isLog(block)) {
+                                final int position = section.getSectionY() << 12 | index;
+                                volume.mark(position);
+                                volume.enqueue(position);
+                            } else if (section.isLeaf(block)) {
+                                int x = getX(index);
+                                int z = getZ(index);
+                                newSides |= getSideMask(x == 0, x == 15, z == 0, z == 15);
+                            }
                         }
                     }
-                }
-
-                // this is basically supposed to recalculate the distances, because a higher cap was added
-                for (int distance = 1; distance < 7; ++distance) {
-                    final IntOpenHashSet positionsLess = positionsByDistance[distance - 1];
-                    final IntOpenHashSet positionsEqual = positionsByDistance[distance];
-
-                    for (final IntIterator iterator = positionsLess.iterator(); iterator.hasNext(); ) {
-                        final int position = iterator.nextInt();
-                        final int fromX = getX(position);
-                        final int fromY = getY(position);
-                        final int fromZ = getZ(position);
 
-                        for (final int[] direction : DIRECTIONS) {
-                            final int toX = fromX + direction[0];
-                            final int toY = fromY + direction[1];
-                            final int toZ = fromZ + direction[2];
-
-                            if (!(toX >= 0 && toX <= 15 && toZ >= 0 && toZ <= 15 && toY >= 0 && toY <= 255)) {
-                                continue;
-                            }
+                    // this is basically supposed to recalculate the distances, because a higher cap was added
+                    // breadth-first from the logs, so each layer of the queue is one further away. leaves are marked
+                    // once given their distance, as no later layer is closer
+                    for (int distance = 1; distance < 7; ++distance) {
+                        for (int i = volume.getQueueSize(); i > 0; --i) {
+                            final int position = volume.dequeue();
+
+                            for (int direction = 0; direction < ChunkVolume.DIRECTIONS; ++direction) {
+                                final int neighbour = ChunkVolume.getNeighbour(position, direction);
+                                if (neighbour == -1 || volume.isMarked(neighbour)) {
+                                    continue;
+                                }
 
-                            final LeavesSection toSection = sections[toY >> 4];
-                            if (toSection == null || toSection.isSkippable()) {
-                                continue;
-                            }
+                                final LeavesSection toSection = sections[neighbour >>> 12];
+                                if (toSection == null || toSection.isSkippable()) {
+                                    continue;
+                                }
 
-                            final int sectionLocalIndex = getIndex(toX, toY & 15, toZ);
-                            final int toBlock = toSection.getBlock(sectionLocalIndex);
+                                final int sectionLocalIndex = neighbour & 4095;
+                                final int toBlock = toSection.getBlock(sectionLocalIndex);
 
-                            if (toSection.isLeaf(toBlock)) {
-                                final int newDistance = toSection.getDistance(toBlock);
-                                if (newDistance > distance) {
+                                if (toSection.isLeaf(toBlock)) {
                                     toSection.setDistance(sectionLocalIndex, toBlock, distance);
-                                    positionsEqual.add(getIndex(toX, toY, toZ));
+                                    volume.mark(neighbour);
+                                    volume.enqueue(neighbour);
                                 }
                             }
                         }
                     }
+                } finally {
+                    volume.release();
                 }
 
                 // done updating blocks, now just update the blockstates and palette
@@ -230,21 +214,23 @@ public final class V1496 {
     public abstract static class Section {
         protected final ListType palette;
         protected final int sectionY;
-        protected PaletteData storage;
+        // palette index of each block, null if skippable
+        protected int[] blocks;
 
         public Section(final MapType<String> section) {
-            this.palette = section.getList("Palette", ObjectType.MAP);
+            this.palette = section.getList(MCKeys.PALETTE, ObjectType.MAP);
             this.sectionY = section.getInt("Y");
             this.readStorage(section);
         }
 
         protected void readStorage(final MapType<String> section) {
             if (this.initSkippable()) {
-                this.storage = null;
+                this.blocks = null;
             } else {
-                final long[] states = section.getLongs("BlockStates");
                 final int bits = Math.max(4, IntegerUtil.ceilLog2(this.palette.size()));
-                this.storage = new PaletteData(bits, 4096, states);
+                final int[] states = section.borrowPacked(MCKeys.BLOCK_STATES, 4096, bits, false);
+                // copy, as borrowed values must not be modified
+                this.blocks = states == null ? new int[4096] : states.clone();
             }
         }
 
@@ -253,16 +239,18 @@ public final class V1496 {
                 return;
             }
 
-            section.setList("Palette", this.palette);
-            section.setLongs("BlockStates", this.storage.getRaw());
+            section.setList(MCKeys.PALETTE, this.palette);
+            // the palette may have grown, so repack with the bits for its final size
+            final int bits = Math.max(4, IntegerUtil.ceilLog2(this.palette.size()));
+            section.adoptPacked(MCKeys.BLOCK_STATES, this.blocks, 4096, bits, false);
         }
 
         public boolean isSkippable() {
-            return this.storage == null;
+            return this.blocks == null;
         }
 
         public int getBlock(final int index) {
-            return this.storage.get(index);
+            return this.blocks[index];
         }
 
         protected int getStateId(final String name, final boolean persistent, final int distance) {
@@ -277,8 +265,9 @@ public final class V1496 {
     }
 
     public static final class LeavesSection extends Section {
-        private IntOpenHashSet leaveIds;
-        private IntOpenHashSet logIds;
+        // palette ids of the leaves and logs
+        private BitSet leaveIds;
+        private BitSet logIds;
         private Int2IntOpenHashMap stateToIdMap;
 
         public LeavesSection(final MapType<String> section) {
@@ -287,25 +276,25 @@ public final class V1496 {
 
         @Override
         protected boolean initSkippable() {
-            this.leaveIds = new IntOpenHashSet();
-            this.logIds = new IntOpenHashSet();
+            this.leaveIds = new BitSet();
+            this.logIds = new BitSet();
             this.stateToIdMap = new Int2IntOpenHashMap();
             this.stateToIdMap.defaultReturnValue(-1);
 
             for (int i = 0; i < this.palette.size(); ++i) {
                 final MapType<String> blockState = this.palette.getMap(i);
-                final String name = blockState.getString("Name", "");
+                final String name = blockState.getString(MCKeys.NAME, "");
                 if (LEAVES_TO_ID.containsKey(name)) {
-                    final MapType<String> properties = blockState.getMap("Properties");
+                    final MapType<String> properties = blockState.getMap(MCKeys.PROPERTIES);
                     final boolean notDecayable = properties != null && "false".equals(properties.getString("decayable"));
 
-                    this.leaveIds.add(i);
+                    this.leaveIds.set(i);
                     this.stateToIdMap.put(this.getStateId(name, notDecayable, 7), i);
                     this.palette.setMap(i, this.makeNewLeafTag(name, notDecayable, 7));
                 }
 
                 if (LOGS.contains(name)) {
-                    this.logIds.add(i);
+                    this.logIds.set(i);
                 }
             }
 
@@ -316,8 +305,8 @@ public final class V1496 {
             final MapType<String> properties = Types.NBT.createEmptyMap();
             final MapType<String> ret = Types.NBT.createEmptyMap();
 
-            ret.setString("Name", name);
-            ret.setMap("Properties", properties);
+            ret.setString(MCKeys.NAME, name);
+            ret.setMap(MCKeys.PROPERTIES, properties);
 
             properties.setString("persistent", Boolean.toString(notDecayable));
             properties.setString("distance", Integer.toString(distance));
@@ -326,47 +315,27 @@ public final class V1496 {
         }
 
         public boolean isLog(final int id) {
-            return this.logIds.contains(id);
+            return this.logIds.get(id);
         }
 
         public boolean isLeaf(final int id) {
-            return this.leaveIds.contains(id);
-        }
-
-        // only call for logs or leaves, will throw otherwise!
-        private int getDistance(final int id) {
-            if (this.isLog(id)) {
-                return 0;
-            }
-
-            return Integer.parseInt(this.palette.getMap(id).getMap("Properties").getString("distance"));
+            return this.leaveIds.get(id);
         }
 
         private void setDistance(final int index, final int id, final int distance) {
             final MapType<String> state = this.palette.getMap(id);
-            final String name = state.getString("Name");
-            final boolean persistent = "true".equals(state.getMap("Properties").getString("persistent"));
+            final String name = state.getString(MCKeys.NAME);
+            final boolean persistent = "true".equals(state.getMap(MCKeys.PROPERTIES).getString("persistent"));
             final int newState = this.getStateId(name, persistent, distance);
             int newStateId;
             if ((newStateId = this.stateToIdMap.get(newState)) == -1) {
                 newStateId = this.palette.size();
-                this.leaveIds.add(newStateId);
+                this.leaveIds.set(newStateId);
                 this.stateToIdMap.put(newState, newStateId);
                 this.palette.addMap(this.makeNewLeafTag(name, persistent, distance));
             }
 
-            if (1 << this.storage.getBits() <= newStateId) {
-                // need to widen storage
-                final PaletteData newStorage = new PaletteData(this.storage.getBits() + 1, 4096);
-
-                for (int i = 0; i < 4096; ++i) {
-                    newStorage.set(i, this.storage.get(i));
-                }
-
-                this.storage = newStorage;
-            }
-
-            this.storage.set(index, newStateId);
+            this.blocks[index] = newStateId;
         }
     }
 }
@@ -65,8 +65,8 @@ public final class V1510 {
     private static final int VERSION = MCVersions.V1_13_PRE4 + 6;
 
     public static void register() {
-        ConverterAbstractBlockRename.register(VERSION, RENAMED_BLOCKS::get);
-        ConverterAbstractItemRename.register(VERSION, RENAMED_ITEMS::get);
+        ConverterAbstractBlockRename.register(VERSION, RENAMED_BLOCKS);
+        ConverterAbstractItemRename.register(VERSION, RENAMED_ITEMS);
         ConverterAbstractRecipeRename.register(VERSION, RECIPES_UPDATES::get);
 
         ConverterAbstractEntityRename.register(VERSION, (String input) -> {
@@ -18,7 +18,7 @@ public final class V1515 {
     );
 
     public static void register() {
-        ConverterAbstractBlockRename.register(VERSION, RENAMED_BLOCK_IDS::get);
+        ConverterAbstractBlockRename.register(VERSION, RENAMED_BLOCK_IDS);
     }
 
     private V1515() {}
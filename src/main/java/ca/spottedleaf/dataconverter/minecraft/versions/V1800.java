@@ -22,7 +22,7 @@ public final class V1800 {
     }
 
     public static void register() {
-        ConverterAbstractItemRename.register(VERSION, RENAMED_ITEM_IDS::get);
+        ConverterAbstractItemRename.register(VERSION, RENAMED_ITEM_IDS);
 
         registerMob("minecraft:panda");
         MCTypeRegistry.ENTITY.addWalker(VERSION, "minecraft:pillager", new DataWalkerItemLists("Inventory"));
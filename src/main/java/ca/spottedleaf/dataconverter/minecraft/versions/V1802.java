@@ -14,11 +14,11 @@ public final class V1802 {
         ConverterAbstractBlockRename.register(VERSION, Map.of(
                 "minecraft:stone_slab", "minecraft:smooth_stone_slab",
                 "minecraft:sign", "minecraft:oak_sign", "minecraft:wall_sign", "minecraft:oak_wall_sign"
-        )::get);
+        ));
         ConverterAbstractItemRename.register(VERSION, Map.of(
                 "minecraft:stone_slab", "minecraft:smooth_stone_slab",
                 "minecraft:sign", "minecraft:oak_sign"
-        )::get);
+        ));
     }
 
     private V1802() {
@@ -19,10 +19,10 @@ public final class V1928 {
     public static void register() {
         ConverterAbstractEntityRename.register(VERSION, Map.of(
                 "minecraft:illager_beast", "minecraft:ravager"
-        )::get);
+        ));
         ConverterAbstractItemRename.register(VERSION, Map.of(
                 "minecraft:illager_beast_spawn_egg", "minecraft:ravager_spawn_egg"
-        )::get);
+        ));
 
         registerMob("minecraft:ravager");
     }
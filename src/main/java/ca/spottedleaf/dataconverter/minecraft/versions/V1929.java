@@ -16,7 +16,7 @@ public final class V1929 {
             WalkerUtils.convertList(MCTypeRegistry.VILLAGER_TRADE, data.getMap("Offers"), "Recipes", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ITEM_STACK, MCTypeRegistry.VILLAGER_TRADE);
         V100.registerEquipment(VERSION, "minecraft:wandering_trader");
 
         MCTypeRegistry.ENTITY.addWalker(VERSION, "minecraft:trader_llama", (final MapType<String> data, final long fromVersion, final long toVersion) -> {
@@ -26,7 +26,7 @@ public final class V1929 {
             WalkerUtils.convertList(MCTypeRegistry.ITEM_STACK, data, "Items", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ITEM_STACK);
         V100.registerEquipment(VERSION, "minecraft:trader_llama");
     }
 
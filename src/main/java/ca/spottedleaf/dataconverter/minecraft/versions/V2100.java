@@ -39,7 +39,7 @@ public final class V2100 {
             }
 
             return null;
-        });
+        }, MCTypeRegistry.ENTITY);
     }
 
     private V2100() {
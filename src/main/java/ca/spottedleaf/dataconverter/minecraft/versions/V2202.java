@@ -18,14 +18,13 @@ public final class V2202 {
                     return null;
                 }
 
-                final int[] oldBiomes = level.getInts("Biomes");
+                final int[] oldBiomes = level.borrowInts("Biomes");
 
                 if (oldBiomes == null || oldBiomes.length != 256) {
                     return null;
                 }
 
                 final int[] newBiomes = new int[1024];
-                level.setInts("Biomes", newBiomes);
 
                 for (int i = 0; i < 4; ++i) {
                     for (int j = 0; j < 4; ++j) {
@@ -40,6 +39,8 @@ public final class V2202 {
                     System.arraycopy(newBiomes, 0, newBiomes, i * 16, 16);
                 }
 
+                level.adoptInts("Biomes", newBiomes);
+
                 return null;
             }
         });
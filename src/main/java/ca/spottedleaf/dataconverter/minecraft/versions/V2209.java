@@ -16,8 +16,8 @@ public final class V2209 {
                 "minecraft:bee_hive", "minecraft:beehive"
         );
 
-        ConverterAbstractBlockRename.register(VERSION, renamedIds::get);
-        ConverterAbstractItemRename.register(VERSION, renamedIds::get);
+        ConverterAbstractBlockRename.register(VERSION, renamedIds);
+        ConverterAbstractItemRename.register(VERSION, renamedIds);
         ConverterAbstractPOIRename.register(VERSION, renamedIds::get);
     }
 
@@ -18,7 +18,7 @@ public final class V2501 {
             WalkerUtils.convertKeys(MCTypeRegistry.RECIPE, data, "RecipesUsed", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ITEM_STACK, MCTypeRegistry.RECIPE);
     }
 
     public static void register() {
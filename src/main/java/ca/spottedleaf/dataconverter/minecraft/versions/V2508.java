@@ -16,8 +16,8 @@ public final class V2508 {
                 "minecraft:crimson_fungi", "minecraft:crimson_fungus"
         );
 
-        ConverterAbstractBlockRename.register(VERSION, remap::get);
-        ConverterAbstractItemRename.register(VERSION, remap::get);
+        ConverterAbstractBlockRename.register(VERSION, remap);
+        ConverterAbstractItemRename.register(VERSION, remap);
     }
 
     private V2508() {}
@@ -19,10 +19,10 @@ public final class V2509 {
     public static void register() {
         ConverterAbstractItemRename.register(VERSION, Map.of(
                 "minecraft:zombie_pigman_spawn_egg", "minecraft:zombified_piglin_spawn_egg"
-        )::get);
+        ));
         ConverterAbstractEntityRename.register(VERSION, Map.of(
                 "minecraft:zombie_pigman", "minecraft:zombified_piglin"
-        )::get);
+        ));
 
         registerMob("minecraft:zombified_piglin");
     }
@@ -279,11 +279,7 @@ public final class V2514 {
     }
 
     private static void updateProjectile(final MapType<String> data) {
-        final Object ownerUUID = data.getGeneric("OwnerUUID");
-        if (ownerUUID != null) {
-            data.remove("OwnerUUID");
-            data.setGeneric("Owner", ownerUUID);
-        }
+        data.moveKey("OwnerUUID", "Owner");
     }
 
     private static void updateEntityUUID(final MapType<String> data) {
@@ -1,11 +1,13 @@
 package ca.spottedleaf.dataconverter.minecraft.versions;
 
 import ca.spottedleaf.dataconverter.converters.DataConverter;
+import ca.spottedleaf.dataconverter.minecraft.MCKeys;
 import ca.spottedleaf.dataconverter.minecraft.MCVersions;
 import ca.spottedleaf.dataconverter.minecraft.datatypes.MCTypeRegistry;
 import ca.spottedleaf.dataconverter.types.ListType;
 import ca.spottedleaf.dataconverter.types.MapType;
 import ca.spottedleaf.dataconverter.types.ObjectType;
+import ca.spottedleaf.dataconverter.util.BitStorage;
 import ca.spottedleaf.dataconverter.util.IntegerUtil;
 
 public final class V2527 {
@@ -16,18 +18,18 @@ public final class V2527 {
         MCTypeRegistry.CHUNK.addStructureConverter(new DataConverter<>(VERSION) {
             @Override
             public MapType<String> convert(final MapType<String> data, final long sourceVersion, final long toVersion) {
-                final MapType<String> level = data.getMap("Level");
+                final MapType<String> level = data.getMap(MCKeys.LEVEL);
 
                 if (level == null) {
                     return null;
                 }
 
-                final ListType sections = level.getList("Sections", ObjectType.MAP);
+                final ListType sections = level.getList(MCKeys.SECTIONS, ObjectType.MAP);
                 if (sections != null) {
                     for (int i = 0, len = sections.size(); i < len; ++i) {
                         final MapType<String> section = sections.getMap(i);
 
-                        final ListType palette = section.getList("Palette", ObjectType.MAP);
+                        final ListType palette = section.getList(MCKeys.PALETTE, ObjectType.MAP);
 
                         if (palette == null) {
                             continue;
@@ -40,21 +42,22 @@ public final class V2527 {
                             continue;
                         }
 
-                        final long[] states = section.getLongs("BlockStates");
+                        final int[] states = section.borrowPacked(MCKeys.BLOCK_STATES, 4096, bits, false);
                         if (states == null) {
                             // wat
                             continue;
                         }
 
-                        section.setLongs("BlockStates", addPadding(4096, bits, states));
+                        // the values are the same in both layouts, so adopt them as-is
+                        section.adoptPacked(MCKeys.BLOCK_STATES, states, 4096, bits, true);
                     }
                 }
 
                 final MapType<String> heightMaps = level.getMap("Heightmaps");
                 if (heightMaps != null) {
                     for (final String key : heightMaps.keys()) {
-                        final long[] old = heightMaps.getLongs(key);
-                        heightMaps.setLongs(key, addPadding(256, 9, old));
+                        final long[] old = heightMaps.borrowLongs(key);
+                        heightMaps.adoptLongs(key, addPadding(256, 9, old));
                     }
                 }
 
@@ -64,58 +67,11 @@ public final class V2527 {
     }
 
     public static long[] addPadding(final int indices, final int bits, final long[] old) {
-        int k = old.length;
-        if (k == 0) {
+        if (old.length == 0) {
             return old;
-        } else {
-            long l = (1L << bits) - 1L;
-            int m = 64 / bits;
-            int n = (indices + m - 1) / m;
-            long[] padded = new long[n];
-            int o = 0;
-            int p = 0;
-            long q = 0L;
-            int r = 0;
-            long s = old[0];
-            long t = k > 1 ? old[1] : 0L;
-
-            for (int u = 0; u < indices; ++u) {
-                int v = u * bits;
-                int w = v >> 6;
-                int x = (u + 1) * bits - 1 >> 6;
-                int y = v ^ w << 6;
-                if (w != r) {
-                    s = t;
-                    t = w + 1 < k ? old[w + 1] : 0L;
-                    r = w;
-                }
-
-                long ab;
-                int ac;
-                if (w == x) {
-                    ab = s >>> y & l;
-                } else {
-                    ac = 64 - y;
-                    ab = (s >>> y | t << ac) & l;
-                }
-
-                ac = p + bits;
-                if (ac >= 64) {
-                    padded[o++] = q;
-                    q = ab;
-                    p = bits;
-                } else {
-                    q |= ab << p;
-                    p = ac;
-                }
-            }
-
-            if (q != 0L) {
-                padded[o] = q;
-            }
-
-            return padded;
         }
+
+        return BitStorage.packPadded(BitStorage.unpackUnpadded(old, indices, bits, null), indices, bits);
     }
 
     private V2527() {}
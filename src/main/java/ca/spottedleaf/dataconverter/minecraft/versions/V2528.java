@@ -15,12 +15,12 @@ public final class V2528 {
         ConverterAbstractItemRename.register(VERSION, Map.of(
                 "minecraft:soul_fire_torch", "minecraft:soul_torch",
                 "minecraft:soul_fire_lantern", "minecraft:soul_lantern"
-        )::get);
+        ));
         ConverterAbstractBlockRename.register(VERSION, Map.of(
                 "minecraft:soul_fire_torch", "minecraft:soul_torch",
                 "minecraft:soul_fire_wall_torch", "minecraft:soul_wall_torch",
                 "minecraft:soul_fire_lantern", "minecraft:soul_lantern"
-        )::get);
+        ));
     }
 
     private V2528() {}
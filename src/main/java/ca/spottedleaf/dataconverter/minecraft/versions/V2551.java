@@ -96,7 +96,7 @@ public final class V2551 {
             }
 
             return null;
-        });
+        }, MCTypeRegistry.BIOME, MCTypeRegistry.BLOCK_NAME);
     }
 
     private V2551() {}
@@ -14,7 +14,7 @@ public final class V2552 {
     public static void register() {
         ConverterAbstractStringValueTypeRename.register(VERSION, MCTypeRegistry.BIOME, Map.of(
                 "minecraft:nether", "minecraft:nether_wastes"
-        )::get);
+        ));
     }
 
     private V2552() {}
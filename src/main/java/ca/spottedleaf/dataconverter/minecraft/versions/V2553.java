@@ -67,7 +67,7 @@ public final class V2553 {
     );
 
     public static void register() {
-        ConverterAbstractStringValueTypeRename.register(VERSION, MCTypeRegistry.BIOME, BIOME_RENAMES::get);
+        ConverterAbstractStringValueTypeRename.register(VERSION, MCTypeRegistry.BIOME, BIOME_RENAMES);
     }
 
     private V2553() {}
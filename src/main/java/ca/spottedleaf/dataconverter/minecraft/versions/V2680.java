@@ -13,10 +13,10 @@ public final class V2680 {
     public static void register() {
         ConverterAbstractItemRename.register(VERSION, Map.of(
                 "minecraft:grass_path", "minecraft:dirt_path"
-        )::get);
+        ));
         ConverterAbstractBlockRename.register(VERSION, Map.of(
                 "minecraft:grass_path", "minecraft:dirt_path"
-        )::get);
+        ));
     }
 
     private V2680() {
@@ -34,8 +34,8 @@ public final class V2690 {
     );
 
     public static void register() {
-        ConverterAbstractItemRename.register(VERSION, RENAMES::get);
-        ConverterAbstractBlockRename.register(VERSION, RENAMES::get);
+        ConverterAbstractItemRename.register(VERSION, RENAMES);
+        ConverterAbstractBlockRename.register(VERSION, RENAMES);
     }
 
     private V2690() {}
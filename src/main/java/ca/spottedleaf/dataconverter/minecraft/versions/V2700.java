@@ -13,7 +13,7 @@ public final class V2700 {
         ConverterAbstractBlockRename.register(VERSION, Map.of(
                 "minecraft:cave_vines_head", "minecraft:cave_vines",
                 "minecraft:cave_vines_body", "minecraft:cave_vines_plant"
-        )::get);
+        ));
     }
 
     private V2700() {
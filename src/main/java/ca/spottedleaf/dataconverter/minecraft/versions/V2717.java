@@ -16,8 +16,8 @@ public final class V2717 {
         final Map<String, String> rename = Map.of(
                 "minecraft:azalea_leaves_flowers", "minecraft:flowering_azalea_leaves"
         );
-        ConverterAbstractItemRename.register(VERSION, rename::get);
-        ConverterAbstractBlockRename.register(VERSION, rename::get);
+        ConverterAbstractItemRename.register(VERSION, rename);
+        ConverterAbstractBlockRename.register(VERSION, rename);
     }
 
     private V2717() {}
@@ -27,7 +27,7 @@ public final class V2831 {
             WalkerUtils.convert(MCTypeRegistry.ENTITY, root.getMap("SpawnData"), "entity", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ENTITY);
 
         MCTypeRegistry.UNTAGGED_SPAWNER.addStructureConverter(new DataConverter<>(VERSION) {
             @Override
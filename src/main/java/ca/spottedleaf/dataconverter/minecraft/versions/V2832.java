@@ -1,6 +1,7 @@
 package ca.spottedleaf.dataconverter.minecraft.versions;
 
 import ca.spottedleaf.dataconverter.converters.DataConverter;
+import ca.spottedleaf.dataconverter.minecraft.MCKeys;
 import ca.spottedleaf.dataconverter.minecraft.MCVersions;
 import ca.spottedleaf.dataconverter.minecraft.converters.helpers.RenameHelper;
 import ca.spottedleaf.dataconverter.minecraft.datatypes.MCTypeRegistry;
@@ -9,6 +10,7 @@ import ca.spottedleaf.dataconverter.types.ListType;
 import ca.spottedleaf.dataconverter.types.MapType;
 import ca.spottedleaf.dataconverter.types.ObjectType;
 import ca.spottedleaf.dataconverter.types.Types;
+import ca.spottedleaf.dataconverter.util.BitStorage;
 import it.unimi.dsi.fastutil.ints.Int2IntLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
@@ -191,63 +193,33 @@ public final class V2832 {
         return (4096 + val.length - 1) / (val.length); // expression is invalid if it returns > 64
     }
 
-    private static long[] resize(final long[] val, final int oldBitsPerObject, final int newBitsPerObject) {
-        final long oldMask = (1L << oldBitsPerObject) - 1; // works even if bitsPerObject == 64
-        final long newMask = (1L << newBitsPerObject) - 1;
-        final int oldObjectsPerValue = 64 / oldBitsPerObject;
-        final int newObjectsPerValue = 64 / newBitsPerObject;
-
+    static long[] resize(final long[] val, final int oldBitsPerObject, final int newBitsPerObject) {
         if (newBitsPerObject == oldBitsPerObject) {
             return val;
         }
 
         final int items = 4096;
 
-        final long[] ret = new long[(items + newObjectsPerValue - 1) / newObjectsPerValue];
-
-        final int expectedSize = ((items + oldObjectsPerValue - 1) / oldObjectsPerValue);
+        final int expectedSize = BitStorage.getPaddedLength(items, oldBitsPerObject);
         if (val.length != expectedSize) {
             throw new IllegalStateException("Expected size: " + expectedSize + ", got: " + val.length);
         }
 
-        int shift = 0;
-        int idx = 0;
-        long newCurr = 0L;
-
-        int currItem = 0;
-        for (int i = 0; i < val.length; ++i) {
-            final long oldCurr = val[i];
-
-            for (int objIdx = 0; currItem < items && objIdx + oldBitsPerObject <= 64; objIdx += oldBitsPerObject, ++currItem) {
-                final long value = (oldCurr >> objIdx) & oldMask;
-
-                if ((value & newMask) != value) {
+        final int[] values = BitStorage.unpackPadded(val, items, oldBitsPerObject, null);
+        if (newBitsPerObject < oldBitsPerObject) {
+            for (final int value : values) {
+                if ((value >>> newBitsPerObject) != 0) {
                     throw new IllegalStateException("Old data storage has values that cannot be moved into new palette (would erase data)!");
                 }
-
-                newCurr |= value << shift;
-                shift += newBitsPerObject;
-
-                if (shift + newBitsPerObject > 64) { // will next write overflow?
-                    // must move to next idx
-                    ret[idx++] = newCurr;
-                    shift = 0;
-                    newCurr = 0L;
-                }
             }
         }
 
-        // don't forget to write the last one
-        if (shift != 0) {
-            ret[idx] = newCurr;
-        }
-
-        return ret;
+        return BitStorage.packPadded(values, items, newBitsPerObject);
     }
 
     private static void fixLithiumChunks(final MapType<String> data) {
         // See https://github.com/CaffeineMC/lithium-fabric/issues/279
-        final MapType<String> level = data.getMap("Level");
+        final MapType<String> level = data.getMap(MCKeys.LEVEL);
         if (level == null) {
             return;
         }
@@ -255,7 +227,7 @@ public final class V2832 {
         final int chunkX = level.getInt("xPos");
         final int chunkZ = level.getInt("zPos");
 
-        final ListType sections = level.getList("Sections", ObjectType.MAP);
+        final ListType sections = level.getList(MCKeys.SECTIONS, ObjectType.MAP);
         if (sections == null) {
             return;
         }
@@ -265,8 +237,8 @@ public final class V2832 {
 
             final int sectionY = section.getInt("Y");
 
-            final ListType palette = section.getList("Palette", ObjectType.MAP);
-            final long[] blockStates = section.getLongs("BlockStates");
+            final ListType palette = section.getList(MCKeys.PALETTE, ObjectType.MAP);
+            final long[] blockStates = section.borrowLongs(MCKeys.BLOCK_STATES);
 
             if (palette == null || blockStates == null) {
                 continue;
@@ -281,7 +253,7 @@ public final class V2832 {
             }
 
             try {
-                section.setLongs("BlockStates", resize(blockStates, gotBits, expectedBits));
+                section.adoptLongs(MCKeys.BLOCK_STATES, resize(blockStates, gotBits, expectedBits));
             } catch (final Exception ex) {
                 LOGGER.error("Failed to rewrite mismatched palette and data storage for section y: " + sectionY
                                 + " for chunk [" + chunkX + "," + chunkZ + "], palette entries: " + palette.size() + ", data storage size: "
@@ -377,7 +349,7 @@ public final class V2832 {
                 // and this still works, so I'm keeping it. Don't fix what isn't broken.
                 fixLithiumChunks(data); // See https://github.com/CaffeineMC/lithium-fabric/issues/279
 
-                final MapType<String> level = data.getMap("Level");
+                final MapType<String> level = data.getMap(MCKeys.LEVEL);
 
                 if (level == null) {
                     return null;
@@ -393,9 +365,9 @@ public final class V2832 {
                 final MapType<String>[] newBiomes = createBiomeSections(level, isOverworld, minSection, isAlreadyExtended);
                 final MapType<String> wrappedEmptyBlockPalette = getEmptyBlockPalette();
 
-                ListType sections = level.getList("Sections", ObjectType.MAP);
+                ListType sections = level.getList(MCKeys.SECTIONS, ObjectType.MAP);
                 if (sections == null) {
-                    level.setList("Sections", sections = Types.NBT.createEmptyList());
+                    level.setList(MCKeys.SECTIONS, sections = Types.NBT.createEmptyList());
                 }
 
                 // must update sections for two things:
@@ -420,11 +392,10 @@ public final class V2832 {
                     }
 
                     // update palette
-                    final ListType palette = section.getList("Palette", ObjectType.MAP);
-                    final long[] blockStates = section.getLongs("BlockStates");
+                    final ListType palette = section.getList(MCKeys.PALETTE, ObjectType.MAP);
+                    final boolean hasBlockStates = section.hasKey(MCKeys.BLOCK_STATES, ObjectType.LONG_ARRAY);
 
-                    section.remove("Palette");
-                    section.remove("BlockStates");
+                    section.remove(MCKeys.PALETTE);
 
                     if (palette != null) {
                         for (int j = 0, len2 = palette.size(); j < len2; ++j) {
@@ -433,15 +404,16 @@ public final class V2832 {
                     }
 
                     final MapType<String> palettedContainer;
-                    if (palette != null && blockStates != null) {
+                    if (palette != null && hasBlockStates) {
                         // only if both exist, same as DFU, same as legacy chunk loading code
-                        section.setMap("block_states", palettedContainer = wrapPaletteOptimised(palette, blockStates));
+                        section.setMap("block_states", palettedContainer = wrapPaletteOptimised(palette, section));
                     } else {
                         section.setMap("block_states", palettedContainer = wrappedEmptyBlockPalette.copy()); // must write a palette now, copy so that later edits do not edit them all
                     }
+                    section.remove(MCKeys.BLOCK_STATES);
 
                     if (section.getInt("Y", Integer.MAX_VALUE) == 0) {
-                        bottomSection = new V2841.SimplePaletteReader(palettedContainer.getList("palette", ObjectType.MAP), palettedContainer.getLongs("data"));
+                        bottomSection = new V2841.SimplePaletteReader(palettedContainer);
                     }
                 }
 
@@ -560,10 +532,10 @@ public final class V2832 {
             }
 
             return null;
-        });
+        }, MCTypeRegistry.BIOME, MCTypeRegistry.BLOCK_NAME, MCTypeRegistry.MULTI_NOISE_BIOME_SOURCE_PARAMETER_LIST);
 
         MCTypeRegistry.CHUNK.addStructureWalker(VERSION, (final MapType<String> data, final long fromVersion, final long toVersion) -> {
-            final MapType<String> level = data.getMap("Level");
+            final MapType<String> level = data.getMap(MCKeys.LEVEL);
             if (level == null) {
                 return null;
             }
@@ -579,20 +551,20 @@ public final class V2832 {
                 }
             }
 
-            final ListType sections = level.getList("Sections", ObjectType.MAP);
+            final ListType sections = level.getList(MCKeys.SECTIONS, ObjectType.MAP);
             if (sections != null) {
                 for (int i = 0, len = sections.size(); i < len; ++i) {
                     final MapType<String> section = sections.getMap(i);
 
                     WalkerUtils.convertList(MCTypeRegistry.BIOME, section.getMap("biomes"), "palette", fromVersion, toVersion);
-                    WalkerUtils.convertList(MCTypeRegistry.BLOCK_STATE, section.getMap("block_states"), "palette", fromVersion, toVersion);
+                    WalkerUtils.convertPalette(MCTypeRegistry.BLOCK_STATE, section.getMap("block_states"), "palette", fromVersion, toVersion);
                 }
             }
 
             WalkerUtils.convertValues(MCTypeRegistry.STRUCTURE_FEATURE, level.getMap("Structures"), "Starts", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.BIOME, MCTypeRegistry.BLOCK_NAME, MCTypeRegistry.BLOCK_STATE, MCTypeRegistry.ENTITY, MCTypeRegistry.STRUCTURE_FEATURE, MCTypeRegistry.TILE_ENTITY);
     }
 
     private static void predictChunkStatusBeforeSurface(final MapType<String> level, final Set<String> chunkBlocks) {
@@ -620,7 +592,7 @@ public final class V2832 {
 
     private static MapType<String> getEmptyBlockPalette() {
         final MapType<String> airBlockState = Types.NBT.createEmptyMap();
-        airBlockState.setString("Name", "minecraft:air");
+        airBlockState.setString(MCKeys.NAME, "minecraft:air");
 
         final ListType emptyBlockPalette = Types.NBT.createEmptyList();
         emptyBlockPalette.addMap(airBlockState);
@@ -712,7 +684,7 @@ public final class V2832 {
             level.setMap("below_zero_retrogen", belowZeroRetrogen);
 
             belowZeroRetrogen.setString("target_status", targetStatus);
-            belowZeroRetrogen.setLongs("missing_bedrock", missingBedrock.toLongArray());
+            belowZeroRetrogen.adoptLongs("missing_bedrock", missingBedrock.toLongArray());
 
             level.setString("Status", "empty");
         }
@@ -729,12 +701,12 @@ public final class V2832 {
         }
 
         for (final String key : carvingMasks.keys()) {
-            final long[] old = BitSet.valueOf(carvingMasks.getBytes(key)).toLongArray();
+            final long[] old = BitSet.valueOf(carvingMasks.borrowBytes(key)).toLongArray();
             final long[] newVal = new long[64 * newSize];
 
             System.arraycopy(old, 0, newVal, 64 * offset, old.length);
 
-            carvingMasks.setLongs(key, newVal); // no CME: key exists already
+            carvingMasks.adoptLongs(key, newVal); // no CME: key exists already
         }
     }
 
@@ -893,18 +865,20 @@ public final class V2832 {
         final MapType<String> ret = Types.NBT.createEmptyMap();
         ret.setList("palette", palette);
         if (blockStates != null) {
-            ret.setLongs("data", blockStates);
+            ret.adoptLongs("data", blockStates);
         }
 
         return ret;
     }
 
-    private static MapType<String> wrapPaletteOptimised(final ListType palette, final long[] blockStates) {
-        if (palette.size() == 1) {
-            return wrapPalette(palette);
+    // moves the block states out of the section as they are stored, so that unpacked values stay unpacked
+    private static MapType<String> wrapPaletteOptimised(final ListType palette, final MapType<String> section) {
+        final MapType<String> ret = wrapPalette(palette);
+        if (palette.size() != 1) {
+            section.transferTo(ret, MCKeys.BLOCK_STATES.name(), "data");
         }
 
-        return wrapPalette(palette, blockStates);
+        return ret;
     }
 
     public static int ceilLog2(final int value) {
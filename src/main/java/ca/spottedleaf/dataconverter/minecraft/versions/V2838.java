@@ -52,7 +52,7 @@ public final class V2838 {
     );
 
     public static void register() {
-        ConverterAbstractStringValueTypeRename.register(VERSION, MCTypeRegistry.BIOME, BIOME_UPDATE::get);
+        ConverterAbstractStringValueTypeRename.register(VERSION, MCTypeRegistry.BIOME, BIOME_UPDATE);
     }
 
     private V2838() {}
@@ -1,12 +1,14 @@
 package ca.spottedleaf.dataconverter.minecraft.versions;
 
 import ca.spottedleaf.dataconverter.converters.DataConverter;
+import ca.spottedleaf.dataconverter.minecraft.MCKeys;
 import ca.spottedleaf.dataconverter.minecraft.MCVersions;
 import ca.spottedleaf.dataconverter.minecraft.datatypes.MCTypeRegistry;
 import ca.spottedleaf.dataconverter.types.ListType;
 import ca.spottedleaf.dataconverter.types.MapType;
 import ca.spottedleaf.dataconverter.types.ObjectType;
 import ca.spottedleaf.dataconverter.types.Types;
+import ca.spottedleaf.dataconverter.util.BitStorage;
 import ca.spottedleaf.dataconverter.util.IntegerUtil;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import java.util.Arrays;
@@ -31,7 +33,7 @@ public final class V2841 {
         MCTypeRegistry.CHUNK.addStructureConverter(new DataConverter<>(VERSION) {
             @Override
             public MapType<String> convert(final MapType<String> root, final long sourceVersion, final long toVersion) {
-                final MapType<String> level = root.getMap("Level");
+                final MapType<String> level = root.getMap(MCKeys.LEVEL);
                 if (level == null) {
                     return null;
                 }
@@ -46,7 +48,7 @@ public final class V2841 {
                 }
 
                 final Int2ObjectOpenHashMap<SimplePaletteReader> sectionBlocks = new Int2ObjectOpenHashMap<>();
-                final ListType sections = level.getList("Sections", ObjectType.MAP);
+                final ListType sections = level.getList(MCKeys.SECTIONS, ObjectType.MAP);
                 int minSection = 0; // TODO wtf is this
                 if (sections != null) {
                     for (int i = 0, len = sections.size(); i < len; ++i) {
@@ -62,7 +64,7 @@ public final class V2841 {
                             continue;
                         }
 
-                        sectionBlocks.put(sectionY, new SimplePaletteReader(section.getList("palette", ObjectType.MAP), section.getLongs("data")));
+                        sectionBlocks.put(sectionY, new SimplePaletteReader(blockStates));
                     }
                 }
 
@@ -131,7 +133,7 @@ public final class V2841 {
     }
 
     public static String getBlockId(final MapType<String> blockState) {
-        return blockState == null ? "minecraft:air" : blockState.getString("Name", "minecraft:air");
+        return blockState == null ? "minecraft:air" : blockState.getString(MCKeys.NAME, "minecraft:air");
     }
 
     private static String getLiquidId(final MapType<String> blockState) {
@@ -139,12 +141,12 @@ public final class V2841 {
             return "minecraft:empty";
         }
 
-        final String name = blockState.getString("Name");
+        final String name = blockState.getString(MCKeys.NAME);
         if (ALWAYS_WATERLOGGED.contains(name)) {
             return "minecraft:water";
         }
 
-        final MapType<String> properties = blockState.getMap("Properties");
+        final MapType<String> properties = blockState.getMap(MCKeys.PROPERTIES);
         // Correctly read block state properties as strings - https://github.com/PaperMC/DataConverter/issues/6
         if ("minecraft:water".equals(name)) {
             return properties != null && "0".equals(properties.getString("level")) ? "minecraft:water" : "minecraft:flowing_water";
@@ -161,16 +163,24 @@ public final class V2841 {
 
         public final ListType palette;
         public final long[] data;
+        // the unpacked data, if read from a container
+        private final int[] values;
         private final int bitsPerValue;
-        private final long mask;
-        private final int valuesPerLong;
 
         public SimplePaletteReader(final ListType palette, final long[] data) {
             this.palette = palette == null ? null : (palette.size() == 0 ? null : palette);
             this.data = data;
+            this.values = null;
             this.bitsPerValue = Math.max(4, IntegerUtil.ceilLog2(this.palette == null ? 0 : this.palette.size()));
-            this.mask = (1L << this.bitsPerValue) - 1L;
-            this.valuesPerLong = (int)(64L / this.bitsPerValue);
+        }
+
+        // reads the palette and data of the paletted container, using the data as-is if it is still unpacked
+        public SimplePaletteReader(final MapType<String> container) {
+            final ListType palette = container.getList("palette", ObjectType.MAP);
+            this.palette = palette == null ? null : (palette.size() == 0 ? null : palette);
+            this.data = null;
+            this.bitsPerValue = Math.max(4, IntegerUtil.ceilLog2(this.palette == null ? 0 : this.palette.size()));
+            this.values = this.palette == null || this.palette.size() == 1 ? null : container.borrowPacked("data", 4096, this.bitsPerValue, true);
         }
 
         public MapType<String> getState(final int x, final int y, final int z) {
@@ -189,17 +199,15 @@ public final class V2841 {
                 return palette.getMap(0);
             }
 
-            // x86 div computes mod. no loss here using mod
-            // if needed, can compute magic mul and shift for div values using IntegerUtil
-            final int dataIndex = index / this.valuesPerLong;
-            final int localIndex = (index % this.valuesPerLong) * this.bitsPerValue;
-            final long[] data = this.data;
-            if (dataIndex < 0 || dataIndex >= data.length) {
+            final int paletteIndex;
+            if (this.values != null) {
+                paletteIndex = index < 0 || index >= this.values.length ? -1 : this.values[index];
+            } else if (this.data != null) {
+                paletteIndex = BitStorage.getPadded(this.data, this.bitsPerValue, index);
+            } else {
                 return null;
             }
 
-            final long value = data[dataIndex];
-            final int paletteIndex = (int)((value >>> localIndex) & this.mask);
             if (paletteIndex < 0 || paletteIndex >= paletteSize) {
                 return null;
             }
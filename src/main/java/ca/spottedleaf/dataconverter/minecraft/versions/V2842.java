@@ -64,14 +64,14 @@ public final class V2842 {
                     final MapType<String> section = sections.getMap(i);
 
                     WalkerUtils.convertList(MCTypeRegistry.BIOME, section.getMap("biomes"), "palette", fromVersion, toVersion);
-                    WalkerUtils.convertList(MCTypeRegistry.BLOCK_STATE, section.getMap("block_states"), "palette", fromVersion, toVersion);
+                    WalkerUtils.convertPalette(MCTypeRegistry.BLOCK_STATE, section.getMap("block_states"), "palette", fromVersion, toVersion);
                 }
             }
 
             WalkerUtils.convertValues(MCTypeRegistry.STRUCTURE_FEATURE, data.getMap("structures"), "starts", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.BIOME, MCTypeRegistry.BLOCK_NAME, MCTypeRegistry.BLOCK_STATE, MCTypeRegistry.ENTITY, MCTypeRegistry.STRUCTURE_FEATURE, MCTypeRegistry.TILE_ENTITY);
     }
 
     private V2842() {}
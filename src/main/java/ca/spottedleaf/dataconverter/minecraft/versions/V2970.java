@@ -146,7 +146,7 @@ public final class V2970 {
                     final MapType<String> newReferences = data.getTypeUtil().createEmptyMap();
                     structures.setMap("References", newReferences);
                     for (final String key : references.keys()) {
-                        final long[] value = references.getLongs(key);
+                        final long[] value = references.borrowLongs(key);
                         if (value.length == 0) {
                             continue;
                         }
@@ -157,7 +157,7 @@ public final class V2970 {
                             continue;
                         }
 
-                        newReferences.setLongs(newKey, value);
+                        newReferences.adoptLongs(newKey, value);
                     }
                 }
 
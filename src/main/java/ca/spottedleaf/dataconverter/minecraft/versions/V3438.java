@@ -39,7 +39,7 @@ public final class V3438 {
                         "minecraft:pottery_shard_arms_up", "minecraft:arms_up_pottery_shard",
                         "minecraft:pottery_shard_skull", "minecraft:skull_pottery_shard"
                 )
-        )::get);
+        ));
     }
 
     private V3438() {}
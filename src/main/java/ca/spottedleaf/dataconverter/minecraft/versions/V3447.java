@@ -42,7 +42,7 @@ public final class V3447 {
             }
         }
 
-        ConverterAbstractItemRename.register(VERSION, rename::get);
+        ConverterAbstractItemRename.register(VERSION, rename);
     }
 
     private V3447() {}
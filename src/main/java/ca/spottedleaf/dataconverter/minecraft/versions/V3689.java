@@ -30,7 +30,7 @@ public final class V3689 {
 
             WalkerUtils.convert(MCTypeRegistry.ENTITY, data.getMap("spawn_data"), "entity", fromVersion, toVersion);
             return null;
-        });
+        }, MCTypeRegistry.ENTITY);
     }
 
     private V3689() {}
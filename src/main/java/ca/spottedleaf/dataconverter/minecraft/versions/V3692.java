@@ -17,8 +17,8 @@ public final class V3692 {
     );
 
     public static void register() {
-        ConverterAbstractBlockRename.register(VERSION, GRASS_RENAME::get);
-        ConverterAbstractItemRename.register(VERSION, GRASS_RENAME::get);
+        ConverterAbstractBlockRename.register(VERSION, GRASS_RENAME);
+        ConverterAbstractItemRename.register(VERSION, GRASS_RENAME);
     }
 
     private V3692() {}
@@ -16,7 +16,7 @@ public final class V3800 {
                 )
         );
 
-        ConverterAbstractItemRename.register(VERSION, renames::get);
+        ConverterAbstractItemRename.register(VERSION, renames);
     }
 
     private V3800() {}
@@ -41,7 +41,7 @@ public final class V3807 {
             WalkerUtils.convert(MCTypeRegistry.ITEM_STACK, root.getMap("shared_data"), "display_item", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ITEM_STACK);
 
         // Step 1
         MCTypeRegistry.SAVED_DATA_MAP_DATA.addStructureConverter(new DataConverter<>(VERSION, 1) {
@@ -92,7 +92,7 @@ public final class V3818 {
             WalkerUtils.convertListPath(MCTypeRegistry.ENTITY, root, "bees", "entity_data", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ENTITY);
 
         // Step 1
         MCTypeRegistry.TILE_ENTITY.addConverterForId("minecraft:banner", new DataConverter<>(VERSION, 1) {
@@ -256,7 +256,7 @@ public final class V3818 {
 
                 return null;
             }
-        });
+        }, MCTypeRegistry.BLOCK_NAME, MCTypeRegistry.ENTITY, MCTypeRegistry.ITEM_NAME, MCTypeRegistry.ITEM_STACK, MCTypeRegistry.TILE_ENTITY);
 
         // Step 4
         MCTypeRegistry.PARTICLE.addStructureConverter(new DataConverter<>(VERSION, 4) {
@@ -281,7 +281,7 @@ public final class V3818 {
             WalkerUtils.convert(MCTypeRegistry.BLOCK_STATE, root, "block_state", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.BLOCK_STATE, MCTypeRegistry.ITEM_STACK);
 
         // Step 5
         // Note: needs breakpoint, reads nested tile entity data
@@ -297,7 +297,7 @@ public final class V3818 {
             WalkerUtils.convert(MCTypeRegistry.DATA_COMPONENTS, root, "components", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.DATA_COMPONENTS, MCTypeRegistry.ITEM_NAME);
 
         // Custom converter for converting commands inside signs, books, command blocks
 //        V3818_Commands.register_5();
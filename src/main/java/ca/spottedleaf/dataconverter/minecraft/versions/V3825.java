@@ -112,7 +112,7 @@ public final class V3825 {
 
             WalkerUtils.convert(MCTypeRegistry.ENTITY, data.getMap("spawn_data"), "entity", fromVersion, toVersion);
             return null;
-        });
+        }, MCTypeRegistry.ENTITY);
         MCTypeRegistry.TILE_ENTITY.addConverterForId("minecraft:trial_spawner", new DataConverter<>(VERSION) {
             private static final String[] NORMAL_CONFIG_KEYS = new String[] {
                     "spawn_range",
@@ -131,11 +131,7 @@ public final class V3825 {
                 final MapType<String> normalConfig = data.getTypeUtil().createEmptyMap();
 
                 for (final String normalKey : NORMAL_CONFIG_KEYS) {
-                    final Object normalValue = data.getGeneric(normalKey);
-                    if (normalValue != null) {
-                        data.remove(normalKey);
-                        normalConfig.setGeneric(normalKey, normalValue);
-                    }
+                    data.transferTo(normalConfig, normalKey, normalKey);
                 }
 
                 if (!normalConfig.isEmpty()) {
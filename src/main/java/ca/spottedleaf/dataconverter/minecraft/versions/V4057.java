@@ -19,9 +19,9 @@ public final class V4057 {
                 }
                 data.remove("CarvingMasks");
 
-                final long[] airMask = carvingMasks.getLongs("AIR");
+                final long[] airMask = carvingMasks.borrowLongs("AIR");
                 if (airMask != null) {
-                    data.setLongs("carving_mask", airMask);
+                    data.adoptLongs("carving_mask", airMask);
                 }
 
                 return null;
@@ -70,7 +70,7 @@ public final class V4059 {
 
                 return null;
             }
-        });
+        }, MCTypeRegistry.BLOCK_NAME, MCTypeRegistry.ENTITY, MCTypeRegistry.ENTITY_NAME, MCTypeRegistry.ITEM_NAME, MCTypeRegistry.ITEM_STACK, MCTypeRegistry.TILE_ENTITY);
 
         MCTypeRegistry.DATA_COMPONENTS.addStructureConverter(new DataConverter<>(VERSION) {
             @Override
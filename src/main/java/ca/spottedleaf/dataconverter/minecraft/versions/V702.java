@@ -48,7 +48,7 @@ public final class V702 {
         MCTypeRegistry.ENTITY.addWalker(VERSION, "ZombieVillager", (final MapType<String> root, final long fromVersion, final long toVersion) -> {
             WalkerUtils.convertList(MCTypeRegistry.VILLAGER_TRADE, root.getMap("Offers"), "Recipes", fromVersion, toVersion);
             return null;
-        });
+        }, MCTypeRegistry.VILLAGER_TRADE);
         registerMob( "Husk");
     }
 
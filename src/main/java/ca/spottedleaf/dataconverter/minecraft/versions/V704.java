@@ -288,7 +288,7 @@ public final class V704 {
         MCTypeRegistry.TILE_ENTITY.addStructureWalker(VERSION, (final MapType<String> data, final long fromVersion, final long toVersion) -> {
             WalkerUtils.convert(MCTypeRegistry.DATA_COMPONENTS, data, "components", fromVersion, toVersion);
             return null;
-        });
+        }, MCTypeRegistry.DATA_COMPONENTS);
         registerInventory( "minecraft:furnace");
         registerInventory( "minecraft:chest");
         MCTypeRegistry.TILE_ENTITY.addWalker(VERSION, "minecraft:jukebox", new DataWalkerItems("RecordItem"));
@@ -297,7 +297,7 @@ public final class V704 {
         MCTypeRegistry.TILE_ENTITY.addWalker(VERSION, "minecraft:mob_spawner", (final MapType<String> data, final long fromVersion, final long toVersion) -> {
             MCTypeRegistry.UNTAGGED_SPAWNER.convert(data, fromVersion, toVersion);
             return null;
-        });
+        }, MCTypeRegistry.UNTAGGED_SPAWNER);
         registerInventory("minecraft:brewing_stand");
         registerInventory("minecraft:hopper");
         MCTypeRegistry.TILE_ENTITY.addWalker(VERSION, "minecraft:flower_pot", new DataWalkerItemNames("Item"));
@@ -383,7 +383,7 @@ public final class V704 {
             WalkerUtils.convertList(MCTypeRegistry.BLOCK_NAME, tag, "CanPlaceOn", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.BLOCK_NAME, MCTypeRegistry.ENTITY, MCTypeRegistry.ITEM_NAME, MCTypeRegistry.ITEM_STACK, MCTypeRegistry.TILE_ENTITY);
 
         // Enforce namespace for ids
         MCTypeRegistry.TILE_ENTITY.addStructureHook(VERSION, new DataHookEnforceNamespacedID());
@@ -115,7 +115,7 @@ public final class V705 {
     }
 
     public static void register() {
-        ConverterAbstractEntityRename.register(VERSION, ENTITY_ID_UPDATE::get);
+        ConverterAbstractEntityRename.register(VERSION, ENTITY_ID_UPDATE);
 
         MCTypeRegistry.ENTITY.addWalker(VERSION, "minecraft:area_effect_cloud", new DataWalkerTypePaths<>(MCTypeRegistry.PARTICLE, "Particle"));
         registerMob("minecraft:armor_stand");
@@ -180,7 +180,7 @@ public final class V705 {
         MCTypeRegistry.ENTITY.addWalker(VERSION, "minecraft:spawner_minecart", (final MapType<String> data, final long fromVersion, final long toVersion) -> {
             MCTypeRegistry.UNTAGGED_SPAWNER.convert(data, fromVersion, toVersion);
             return null;
-        });
+        }, MCTypeRegistry.UNTAGGED_SPAWNER);
         MCTypeRegistry.ENTITY.addWalker(VERSION, "minecraft:spectral_arrow", new DataWalkerBlockNames("inTile"));
         registerMob("minecraft:spider");
         registerMob("minecraft:squid");
@@ -192,7 +192,7 @@ public final class V705 {
             WalkerUtils.convertList(MCTypeRegistry.VILLAGER_TRADE, data.getMap("Offers"), "Recipes", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ITEM_STACK, MCTypeRegistry.VILLAGER_TRADE);
         V100.registerEquipment(VERSION, "minecraft:villager");
         registerMob("minecraft:villager_golem");
         registerMob("minecraft:witch");
@@ -210,7 +210,7 @@ public final class V705 {
             WalkerUtils.convertList(MCTypeRegistry.VILLAGER_TRADE, data.getMap("Offers"), "Recipes", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.VILLAGER_TRADE);
         registerMob("minecraft:evocation_illager");
         MCTypeRegistry.ENTITY.addWalker(VERSION, "minecraft:llama", new DataWalkerItemLists("Items"));
         V100.registerEquipment(VERSION, "minecraft:llama");
@@ -13,7 +13,7 @@ public final class V820 {
     public static void register() {
         ConverterAbstractItemRename.register(VERSION, Map.of(
                 "minecraft:totem", "minecraft:totem_of_undying"
-        )::get);
+        ));
     }
 
     private V820() {
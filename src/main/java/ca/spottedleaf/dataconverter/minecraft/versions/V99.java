@@ -85,7 +85,7 @@ public final class V99 {
             WalkerUtils.convert(MCTypeRegistry.ENTITY, data, "Riding", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ENTITY);
         MCTypeRegistry.ENTITY.addWalker(VERSION, "Item", new DataWalkerItems("Item"));
         registerProjectile("ThrownEgg");
         MCTypeRegistry.ENTITY.addWalker(VERSION, "Arrow", new DataWalkerBlockNames("inTile"));
@@ -112,7 +112,7 @@ public final class V99 {
         MCTypeRegistry.ENTITY.addWalker(VERSION, "Minecart", (final MapType<String> data, final long fromVersion, final long toVersion) -> {
             MCTypeRegistry.UNTAGGED_SPAWNER.convert(data, fromVersion, toVersion);
             return null;
-        }); // for spawner type
+        }, MCTypeRegistry.UNTAGGED_SPAWNER); // for spawner type
         MCTypeRegistry.ENTITY.addWalker(VERSION, "MinecartRideable", new DataWalkerBlockNames("DisplayTile"));
         MCTypeRegistry.ENTITY.addWalker(VERSION, "MinecartChest", new DataWalkerBlockNames("DisplayTile"));
         MCTypeRegistry.ENTITY.addWalker(VERSION, "MinecartChest", new DataWalkerItemLists("Items"));
@@ -122,7 +122,7 @@ public final class V99 {
         MCTypeRegistry.ENTITY.addWalker(VERSION, "MinecartSpawner", (final MapType<String> data, final long fromVersion, final long toVersion) -> {
             MCTypeRegistry.UNTAGGED_SPAWNER.convert(data, fromVersion, toVersion);
             return null;
-        });
+        }, MCTypeRegistry.UNTAGGED_SPAWNER);
         MCTypeRegistry.ENTITY.addWalker(VERSION, "MinecartHopper", new DataWalkerBlockNames("DisplayTile"));
         MCTypeRegistry.ENTITY.addWalker(VERSION, "MinecartHopper", new DataWalkerItemLists("Items"));
         MCTypeRegistry.ENTITY.addWalker(VERSION, "MinecartCommandBlock", new DataWalkerBlockNames("DisplayTile"));
@@ -165,7 +165,7 @@ public final class V99 {
             WalkerUtils.convertList(MCTypeRegistry.VILLAGER_TRADE, data.getMap("Offers"), "Recipes", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.VILLAGER_TRADE);
         registerMob("Shulker");
         MCTypeRegistry.ENTITY.addWalker(VERSION, "AreaEffectCloud", new DataWalkerTypePaths<>(MCTypeRegistry.PARTICLE, "Particle"));
 
@@ -174,7 +174,7 @@ public final class V99 {
             WalkerUtils.convert(MCTypeRegistry.DATA_COMPONENTS, data, "components", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.DATA_COMPONENTS);
 
         // Inventory -> new DataWalkerItemLists("Items")
         registerInventory("Furnace");
@@ -185,7 +185,7 @@ public final class V99 {
         MCTypeRegistry.TILE_ENTITY.addWalker(VERSION, "MobSpawner", (final MapType<String> data, final long fromVersion, final long toVersion) -> {
             MCTypeRegistry.UNTAGGED_SPAWNER.convert(data, fromVersion, toVersion);
             return null;
-        });
+        }, MCTypeRegistry.UNTAGGED_SPAWNER);
         registerInventory("Cauldron");
         registerInventory("Hopper");
         // Note: Vanilla does not properly handle this case for FlowerPot, it will not convert int ids!
@@ -282,7 +282,7 @@ public final class V99 {
             WalkerUtils.convertList(MCTypeRegistry.BLOCK_NAME, tag, "CanPlaceOn", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.BLOCK_NAME, MCTypeRegistry.ENTITY, MCTypeRegistry.ITEM_NAME, MCTypeRegistry.ITEM_STACK, MCTypeRegistry.TILE_ENTITY);
 
         MCTypeRegistry.PLAYER.addStructureWalker(VERSION, new DataWalkerItemLists("Inventory", "EnderItems"));
 
@@ -304,13 +304,13 @@ public final class V99 {
             }
 
             return null;
-        });
+        }, MCTypeRegistry.BLOCK_NAME, MCTypeRegistry.ENTITY, MCTypeRegistry.TILE_ENTITY);
 
         MCTypeRegistry.ENTITY_CHUNK.addStructureWalker(VERSION, (final MapType<String> data, final long fromVersion, final long toVersion) -> {
             WalkerUtils.convertList(MCTypeRegistry.ENTITY, data, "Entities", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ENTITY);
 
         MCTypeRegistry.SAVED_DATA_SCOREBOARD.addStructureWalker(VERSION, (final MapType<String> root, final long fromVersion, final long toVersion) -> {
             final MapType<String> data = root.getMap("data");
@@ -322,7 +322,7 @@ public final class V99 {
             WalkerUtils.convertList(MCTypeRegistry.TEAM, data, "Teams", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.OBJECTIVE, MCTypeRegistry.TEAM);
         MCTypeRegistry.SAVED_DATA_STRUCTURE_FEATURE_INDICES.addStructureWalker(VERSION, (final MapType<String> root, final long fromVersion, final long toVersion) -> {
             final MapType<String> data = root.getMap("data");
             if (data == null) {
@@ -332,7 +332,7 @@ public final class V99 {
             WalkerUtils.convertValues(MCTypeRegistry.STRUCTURE_FEATURE, data, "Features", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.STRUCTURE_FEATURE);
 
         MCTypeRegistry.VILLAGER_TRADE.addStructureWalker(VERSION, (final MapType<String> root, final long fromVersion, final long toVersion) -> {
             WalkerUtils.convert(MCTypeRegistry.ITEM_STACK, root, "buy", fromVersion, toVersion);
@@ -340,7 +340,7 @@ public final class V99 {
             WalkerUtils.convert(MCTypeRegistry.ITEM_STACK, root, "sell", fromVersion, toVersion);
 
             return null;
-        });
+        }, MCTypeRegistry.ITEM_STACK);
 
         // Enforce namespacing for ids
         MCTypeRegistry.BLOCK_NAME.addStructureHook(VERSION, new DataHookValueTypeEnforceNamespaced());
@@ -1,5 +1,6 @@
 package ca.spottedleaf.dataconverter.minecraft.walkers.game_event;
 
+import ca.spottedleaf.dataconverter.converters.datatypes.DataType;
 import ca.spottedleaf.dataconverter.converters.datatypes.DataWalker;
 import ca.spottedleaf.dataconverter.minecraft.datatypes.MCTypeRegistry;
 import ca.spottedleaf.dataconverter.minecraft.walkers.generic.WalkerUtils;
@@ -7,6 +8,11 @@ import ca.spottedleaf.dataconverter.types.MapType;
 
 public final class GameEventListenerWalker implements DataWalker<MapType<String>> {
 
+    @Override
+    public DataType<?, ?>[] getReferencedTypes() {
+        return new DataType<?, ?>[] { MCTypeRegistry.GAME_EVENT_NAME };
+    }
+
     @Override
     public MapType<String> walk(final MapType<String> data, final long fromVersion, final long toVersion) {
         final MapType<String> listener = data.getMap("listener");
@@ -15,6 +15,11 @@ public class DataWalkerListPaths<T, R> implements DataWalker<MapType<String>> {
         this.paths = paths;
     }
 
+    @Override
+    public DataType<?, ?>[] getReferencedTypes() {
+        return new DataType<?, ?>[] { this.type };
+    }
+
     @Override
     public final MapType<String> walk(final MapType<String> data, final long fromVersion, final long toVersion) {
         final DataType<T, R> type = this.type;
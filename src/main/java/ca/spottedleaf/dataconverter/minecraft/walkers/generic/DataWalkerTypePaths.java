@@ -14,6 +14,11 @@ public class DataWalkerTypePaths<T, R> implements DataWalker<MapType<String>> {
         this.paths = paths;
     }
 
+    @Override
+    public DataType<?, ?>[] getReferencedTypes() {
+        return new DataType<?, ?>[] { this.type };
+    }
+
     @Override
     public final MapType<String> walk(final MapType<String> data, final long fromVersion, final long toVersion) {
         for (final String path : this.paths) {
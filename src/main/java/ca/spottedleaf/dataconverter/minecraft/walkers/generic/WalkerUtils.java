@@ -1,5 +1,6 @@
 package ca.spottedleaf.dataconverter.minecraft.walkers.generic;
 
+import ca.spottedleaf.dataconverter.minecraft.converters.helpers.BlockStatePool;
 import ca.spottedleaf.dataconverter.minecraft.converters.helpers.RenameHelper;
 import ca.spottedleaf.dataconverter.minecraft.datatypes.MCDataType;
 import ca.spottedleaf.dataconverter.minecraft.datatypes.MCValueType;
@@ -11,7 +12,7 @@ import java.util.ArrayList;
 public final class WalkerUtils {
 
     public static void convert(final MCDataType type, final MapType<String> data, final String path, final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
@@ -25,7 +26,7 @@ public final class WalkerUtils {
     }
 
     public static void convertList(final MCDataType type, final MapType<String> data, final String path, final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
@@ -40,9 +41,27 @@ public final class WalkerUtils {
         }
     }
 
+    // converts a palette of block states, and replaces the states the converters replace with the pooled states.
+    // states left in place keep their wrappers, so unmodified states still read through to the original tags
+    public static void convertPalette(final MCDataType type, final MapType<String> data, final String path, final long fromVersion, final long toVersion) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
+            return;
+        }
+
+        final ListType palette = data.getList(path, ObjectType.MAP);
+        if (palette != null) {
+            for (int i = 0, len = palette.size(); i < len; ++i) {
+                final MapType<String> replace = type.convert(palette.getMap(i), fromVersion, toVersion);
+                if (replace != null) {
+                    palette.setMap(i, BlockStatePool.intern(replace));
+                }
+            }
+        }
+    }
+
     public static void convertListPath(final MCDataType type, final MapType<String> data, final String listPath, final String elementPath,
                                        final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
@@ -56,7 +75,7 @@ public final class WalkerUtils {
 
     public static void convertListPath(final MCDataType type, final MapType<String> data, final String listPath, final String elementPath1,
                                        final String elementPath2, final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
@@ -69,7 +88,7 @@ public final class WalkerUtils {
     }
 
     public static void convert(final MCValueType type, final MapType<String> data, final String path, final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
@@ -83,7 +102,7 @@ public final class WalkerUtils {
     }
 
     public static void convert(final MCValueType type, final ListType data, final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
@@ -97,7 +116,7 @@ public final class WalkerUtils {
     }
 
     public static void convertList(final MCValueType type, final MapType<String> data, final String path, final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
@@ -109,7 +128,7 @@ public final class WalkerUtils {
 
     public static void convertListPath(final MCValueType type, final MapType<String> data, final String listPath, final String elementPath,
                                        final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
@@ -123,7 +142,7 @@ public final class WalkerUtils {
 
     public static void convertListPath(final MCValueType type, final MapType<String> data, final String listPath, final String elementPath1,
                                        final String elementPath2, final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
@@ -136,7 +155,7 @@ public final class WalkerUtils {
     }
 
     public static void convertKeys(final MCValueType type, final MapType<String> data, final String path, final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
@@ -147,7 +166,7 @@ public final class WalkerUtils {
     }
 
     public static void convertKeys(final MCValueType type, final MapType<String> data, final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
@@ -157,7 +176,7 @@ public final class WalkerUtils {
     }
 
     public static void convertValues(final MCDataType type, final MapType<String> data, final String path, final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
@@ -165,7 +184,7 @@ public final class WalkerUtils {
     }
 
     public static void convertValues(final MCDataType type, final MapType<String> data, final long fromVersion, final long toVersion) {
-        if (data == null) {
+        if (data == null || !type.canChange(fromVersion, toVersion)) {
             return;
         }
 
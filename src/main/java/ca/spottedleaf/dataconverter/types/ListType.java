@@ -156,6 +156,32 @@ public interface ListType {
 
     public void setLongs(final int index, final long[] to);
 
+    // see the borrow and adopt methods of MapType
+
+    public default byte[] borrowBytes(final int index) {
+        return this.getBytes(index);
+    }
+
+    public default void adoptBytes(final int index, final byte[] to) {
+        this.setBytes(index, to);
+    }
+
+    public default int[] borrowInts(final int index) {
+        return this.getInts(index);
+    }
+
+    public default void adoptInts(final int index, final int[] to) {
+        this.setInts(index, to);
+    }
+
+    public default long[] borrowLongs(final int index) {
+        return this.getLongs(index);
+    }
+
+    public default void adoptLongs(final int index, final long[] to) {
+        this.setLongs(index, to);
+    }
+
     public ListType getList(final int index);
 
     public void setList(final int index, final ListType list);
@@ -0,0 +1,63 @@
+package ca.spottedleaf.dataconverter.types;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Handle for a string key which converters look up often. Handles are interned, so that two handles for the same
+ * key are the same object, and their name is one canonical string instance. Maps which store that instance as the
+ * key find it by identity before comparing strings.
+ * <p>
+ * The backends resolve handles to their name, as strings already cache their hash. Keys set through a handle store
+ * the canonical instance. Decoded keys only do so while the {@link ca.spottedleaf.dataconverter.util.StringPool}
+ * is enabled; otherwise they are matched by hash and equality as before.
+ * </p>
+ * <p>
+ * Handles are meant to be created once and kept in constants, as {@link #of(String)} itself is a hash lookup.
+ * </p>
+ */
+public final class MapKey {
+
+    private static final ConcurrentHashMap<String, MapKey> KEYS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int hash;
+
+    private MapKey(final String name) {
+        this.name = name;
+        this.hash = name.hashCode();
+    }
+
+    public static MapKey of(final String name) {
+        final MapKey ret = KEYS.get(name);
+        if (ret != null) {
+            return ret;
+        }
+
+        return KEYS.computeIfAbsent(name, MapKey::new);
+    }
+
+    /**
+     * Returns the canonical instance of the specified string if a handle exists for it, otherwise returns
+     * {@code null}.
+     */
+    public static String getCanonicalName(final String name) {
+        final MapKey ret = KEYS.get(name);
+        return ret == null ? null : ret.name;
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    // handles are interned, so identity equality is inherited from Object
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -1,6 +1,11 @@
 package ca.spottedleaf.dataconverter.types;
 
+import ca.spottedleaf.dataconverter.util.BitStorage;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 public interface MapType<K> {
 
@@ -31,6 +36,60 @@ public interface MapType<K> {
 
     public Object getGeneric(final K key);
 
+    // The move methods move the stored value as-is where the types allow it, rather than reading it into a generic
+    // value and writing it back. Anything in the destination key is clobbered
+
+    // Returns whether the key existed, in which case it is removed and its value is set in the destination map
+    public default boolean transferTo(final MapType<K> dst, final K key, final K dstKey) {
+        final Object value = this.getGeneric(key);
+        if (value == null) {
+            return false;
+        }
+
+        this.remove(key);
+        dst.setGeneric(dstKey, value);
+
+        return true;
+    }
+
+    public default boolean moveKey(final K fromKey, final K toKey) {
+        return this.transferTo(this, fromKey, toKey);
+    }
+
+    // Renames every key for which the renamer returns non-null. Renamed keys are removed before any is inserted, so
+    // renames may swap keys. If two keys are renamed to one key, there is no defined winner
+    public default void renameKeys(final Function<K, K> renamer) {
+        List<K> newKeys = null;
+        List<Object> newValues = null;
+
+        for (final K key : new ArrayList<>(this.keys())) {
+            final K renamed = renamer.apply(key);
+            if (renamed == null) {
+                continue;
+            }
+
+            if (newKeys == null) {
+                newKeys = new ArrayList<>();
+                newValues = new ArrayList<>();
+            }
+
+            newKeys.add(renamed);
+            newValues.add(this.getGeneric(key));
+            this.remove(key);
+        }
+
+        if (newKeys == null) {
+            return;
+        }
+
+        for (int i = 0, len = newKeys.size(); i < len; ++i) {
+            final Object value = newValues.get(i);
+            if (value != null) {
+                this.setGeneric(newKeys.get(i), value);
+            }
+        }
+    }
+
     // types here are not strict. if the key maps to a different type, default is always returned
     // if default is not a parameter, then default is always null
 
@@ -116,6 +175,52 @@ public interface MapType<K> {
 
     public void setLongs(final K key, final long[] val);
 
+    // The borrow methods may return the array this map stores instead of a copy, so the returned array must not be
+    // modified. The adopt methods may store the array without copying it, so the caller must not modify it afterwards.
+    // By default, both copy the same as the get and set methods
+
+    public default byte[] borrowBytes(final K key) {
+        return this.getBytes(key);
+    }
+
+    public default void adoptBytes(final K key, final byte[] val) {
+        this.setBytes(key, val);
+    }
+
+    public default int[] borrowInts(final K key) {
+        return this.getInts(key);
+    }
+
+    public default void adoptInts(final K key, final int[] val) {
+        this.setInts(key, val);
+    }
+
+    public default long[] borrowLongs(final K key) {
+        return this.getLongs(key);
+    }
+
+    public default void adoptLongs(final K key, final long[] val) {
+        this.setLongs(key, val);
+    }
+
+    // The packed methods read and write arrays of small values packed into a long array, in the unpadded or padded
+    // layout of BitStorage. Maps may keep adopted values unpacked until the long array itself is needed, so that
+    // converters reading them back in the same layout skip the unpacking. Borrowed values must not be modified
+
+    // Returns null if there is no long array at the key
+    public default int[] borrowPacked(final K key, final int size, final int bits, final boolean padded) {
+        final long[] data = this.borrowLongs(key);
+        if (data == null) {
+            return null;
+        }
+
+        return padded ? BitStorage.unpackPadded(data, size, bits, null) : BitStorage.unpackUnpadded(data, size, bits, null);
+    }
+
+    public default void adoptPacked(final K key, final int[] values, final int size, final int bits, final boolean padded) {
+        this.adoptLongs(key, padded ? BitStorage.packPadded(values, size, bits) : BitStorage.packUnpadded(values, size, bits));
+    }
+
     public ListType getListUnchecked(final K key);
 
     public ListType getListUnchecked(final K key, final ListType dfl);
@@ -220,4 +325,66 @@ public interface MapType<K> {
 
         throw new IllegalArgumentException("Object " + value + " is not a valid type!");
     }
+
+    // Key handle overloads, only for maps with string keys. They look up the canonical name of the handle
+
+    public default boolean hasKey(final MapKey key) {
+        return this.hasKey((K)key.name());
+    }
+
+    public default boolean hasKey(final MapKey key, final ObjectType type) {
+        return this.hasKey((K)key.name(), type);
+    }
+
+    public default void remove(final MapKey key) {
+        this.remove((K)key.name());
+    }
+
+    public default long[] getLongs(final MapKey key) {
+        return this.getLongs((K)key.name());
+    }
+
+    public default long[] borrowLongs(final MapKey key) {
+        return this.borrowLongs((K)key.name());
+    }
+
+    public default void adoptLongs(final MapKey key, final long[] val) {
+        this.adoptLongs((K)key.name(), val);
+    }
+
+    public default int[] borrowPacked(final MapKey key, final int size, final int bits, final boolean padded) {
+        return this.borrowPacked((K)key.name(), size, bits, padded);
+    }
+
+    public default void adoptPacked(final MapKey key, final int[] values, final int size, final int bits, final boolean padded) {
+        this.adoptPacked((K)key.name(), values, size, bits, padded);
+    }
+
+    public default ListType getList(final MapKey key, final ObjectType type) {
+        return this.getList((K)key.name(), type);
+    }
+
+    public default void setList(final MapKey key, final ListType val) {
+        this.setList((K)key.name(), val);
+    }
+
+    public default <T> MapType<T> getMap(final MapKey key) {
+        return this.getMap((K)key.name());
+    }
+
+    public default void setMap(final MapKey key, final MapType<?> val) {
+        this.setMap((K)key.name(), val);
+    }
+
+    public default String getString(final MapKey key) {
+        return this.getString((K)key.name());
+    }
+
+    public default String getString(final MapKey key, final String dfl) {
+        return this.getString((K)key.name(), dfl);
+    }
+
+    public default void setString(final MapKey key, final String val) {
+        this.setString((K)key.name(), val);
+    }
 }
@@ -5,6 +5,7 @@ import ca.spottedleaf.dataconverter.types.MapType;
 import ca.spottedleaf.dataconverter.types.ObjectType;
 import ca.spottedleaf.dataconverter.types.TypeUtil;
 import ca.spottedleaf.dataconverter.types.Types;
+import ca.spottedleaf.dataconverter.util.StringPool;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -263,7 +264,7 @@ public final class JsonListType implements ListType {
 
     @Override
     public void setString(final int index, final String to) {
-        this.array.set(index, new JsonPrimitive(to));
+        this.array.set(index, new JsonPrimitive(StringPool.intern(to)));
     }
 
     @Override
@@ -404,7 +405,7 @@ public final class JsonListType implements ListType {
 
     @Override
     public void addString(final String string) {
-        this.array.add(string);
+        this.array.add(StringPool.intern(string));
     }
 
     @Override
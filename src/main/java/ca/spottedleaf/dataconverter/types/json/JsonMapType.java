@@ -5,6 +5,7 @@ import ca.spottedleaf.dataconverter.types.MapType;
 import ca.spottedleaf.dataconverter.types.ObjectType;
 import ca.spottedleaf.dataconverter.types.TypeUtil;
 import ca.spottedleaf.dataconverter.types.Types;
+import ca.spottedleaf.dataconverter.util.StringPool;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -148,6 +149,22 @@ public final class JsonMapType implements MapType<String> {
         this.map.remove(key);
     }
 
+    @Override
+    public boolean transferTo(final MapType<String> dst, final String key, final String dstKey) {
+        if (!(dst instanceof JsonMapType json)) {
+            return MapType.super.transferTo(dst, key, dstKey);
+        }
+
+        final JsonElement element = this.map.remove(key);
+        if (element == null) {
+            return false;
+        }
+
+        json.map.add(dstKey, element);
+
+        return true;
+    }
+
     @Override
     public Object getGeneric(final String key) {
         final JsonElement element = this.map.get(key);
@@ -469,6 +486,6 @@ public final class JsonMapType implements MapType<String> {
 
     @Override
     public void setString(final String key, final String val) {
-        this.map.addProperty(key, val);
+        this.map.addProperty(key, StringPool.intern(val));
     }
 }
@@ -0,0 +1,554 @@
+package ca.spottedleaf.dataconverter.types.nbt;
+
+import ca.spottedleaf.dataconverter.types.MapType;
+import ca.spottedleaf.dataconverter.util.SmallMap;
+import ca.spottedleaf.dataconverter.util.StringPool;
+import net.kyori.adventure.nbt.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads and writes binary NBT directly to and from {@link NBTMapType}, without building an Adventure tag tree for the
+ * compounds and lists.
+ */
+public final class NBTIO {
+
+    // same limit as the game
+    private static final int MAX_DEPTH = 512;
+
+    private static final byte TAG_END = 0;
+    private static final byte TAG_BYTE = 1;
+    private static final byte TAG_SHORT = 2;
+    private static final byte TAG_INT = 3;
+    private static final byte TAG_LONG = 4;
+    private static final byte TAG_FLOAT = 5;
+    private static final byte TAG_DOUBLE = 6;
+    private static final byte TAG_BYTE_ARRAY = 7;
+    private static final byte TAG_STRING = 8;
+    private static final byte TAG_LIST = 9;
+    private static final byte TAG_COMPOUND = 10;
+    private static final byte TAG_INT_ARRAY = 11;
+    private static final byte TAG_LONG_ARRAY = 12;
+
+    public static enum Compression {
+        NONE,
+        GZIP,
+        ZLIB;
+    }
+
+    private NBTIO() {}
+
+    /**
+     * Reads a named root compound from the stream, which may be read past the end of the NBT data.
+     */
+    public static MapType<String> read(final InputStream input, final Compression compression) throws IOException {
+        return read((DataInput) new DataInputStream(new BufferedInputStream(decompress(input, compression))));
+    }
+
+    /**
+     * Reads a named root compound. The root name is discarded.
+     */
+    public static MapType<String> read(final DataInput input) throws IOException {
+        readRootHeader(input);
+        return readCompound(input, null, 0);
+    }
+
+    /**
+     * Reads a named root compound from the stream like {@link #read(InputStream, Compression)}, but only decodes the
+     * entries of the root. Nested compounds and lists are decoded the first time they are read from their parent, and
+     * the ones never read are written back by copying their bytes. The rest of the stream is read into memory.
+     */
+    public static MapType<String> readLazy(final InputStream input, final Compression compression) throws IOException {
+        return readLazy(decompress(input, compression).readAllBytes());
+    }
+
+    /**
+     * Reads a named root compound from the array, see {@link #readLazy(InputStream, Compression)}. The array must not
+     * be modified afterwards, as the compounds and lists not yet decoded read from it. The structure is validated
+     * up front, but malformed strings inside nested compounds and lists are only found when decoding them, which then
+     * throws an {@link UncheckedIOException}.
+     */
+    public static MapType<String> readLazy(final byte[] data) throws IOException {
+        return read(new Cursor(data, 0, data.length), true);
+    }
+
+    /**
+     * Reads a named root compound from the remaining bytes of the buffer, which must not be compressed. The position
+     * of the buffer is moved past the NBT data. Buffers backed by an accessible array are read in place, others are
+     * copied first.
+     */
+    public static MapType<String> read(final ByteBuffer buffer) throws IOException {
+        return read(buffer, false);
+    }
+
+    /**
+     * Reads a named root compound from the remaining bytes of the buffer like {@link #read(ByteBuffer)}, but lazily,
+     * see {@link #readLazy(byte[])}. If the buffer is backed by an accessible array, the nested compounds and lists
+     * not yet decoded read from that array, so it must not be modified afterwards.
+     */
+    public static MapType<String> readLazy(final ByteBuffer buffer) throws IOException {
+        return read(buffer, true);
+    }
+
+    private static MapType<String> read(final ByteBuffer buffer, final boolean lazy) throws IOException {
+        final byte[] data;
+        final int offset;
+        if (buffer.hasArray()) {
+            data = buffer.array();
+            offset = buffer.arrayOffset() + buffer.position();
+        } else {
+            data = new byte[buffer.remaining()];
+            buffer.duplicate().get(data);
+            offset = 0;
+        }
+
+        final Cursor cursor = new Cursor(data, offset, buffer.remaining());
+        final MapType<String> ret = read(cursor, lazy);
+
+        buffer.position(buffer.position() + (cursor.position() - offset));
+        return ret;
+    }
+
+    private static MapType<String> read(final Cursor cursor, final boolean lazy) throws IOException {
+        final DataInput input = new DataInputStream(cursor);
+
+        readRootHeader(input);
+        return readCompound(input, lazy ? cursor : null, 0);
+    }
+
+    private static InputStream decompress(final InputStream input, final Compression compression) throws IOException {
+        return switch (compression) {
+            case NONE -> input;
+            case GZIP -> new GZIPInputStream(input);
+            case ZLIB -> new InflaterInputStream(input);
+        };
+    }
+
+    private static void readRootHeader(final DataInput input) throws IOException {
+        final byte type = input.readByte();
+        if (type != TAG_COMPOUND) {
+            throw new IOException("Root tag must be a compound, got type " + type);
+        }
+        input.readUTF();
+    }
+
+    public static void write(final OutputStream output, final MapType<String> data, final Compression compression) throws IOException {
+        // checked before any compression header is written
+        asNBT(data);
+
+        final DeflaterOutputStream compressed = switch (compression) {
+            case NONE -> null;
+            case GZIP -> new GZIPOutputStream(output);
+            case ZLIB -> new DeflaterOutputStream(output);
+        };
+
+        final DataOutputStream dataOutput = new DataOutputStream(new BufferedOutputStream(compressed == null ? output : compressed));
+        write((DataOutput) dataOutput, data);
+        dataOutput.flush();
+
+        // the caller owns the stream, so only finish the compressed data instead of closing it
+        if (compressed != null) {
+            compressed.finish();
+        }
+    }
+
+    /**
+     * Writes the data as a root compound with an empty name. The data must be an NBT map.
+     */
+    public static void write(final DataOutput output, final MapType<String> data) throws IOException {
+        final NBTMapType nbt = asNBT(data);
+
+        output.writeByte(TAG_COMPOUND);
+        output.writeUTF("");
+        writeMap(output, nbt);
+    }
+
+    private static NBTMapType asNBT(final MapType<String> data) {
+        if (!(data instanceof NBTMapType nbt)) {
+            throw new IllegalArgumentException("Can only write NBT maps, not: " + (data == null ? null : data.getClass().getName()));
+        }
+        return nbt;
+    }
+
+    // if the cursor is not null, nested compounds and lists are left encoded
+    private static NBTMapType readCompound(final DataInput input, final Cursor cursor, final int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("NBT tree is deeper than " + MAX_DEPTH);
+        }
+
+        final Map<String, Object> entries = new SmallMap<>();
+
+        byte type;
+        while ((type = input.readByte()) != TAG_END) {
+            final String key = StringPool.intern(input.readUTF());
+            entries.put(key, readEntry(input, cursor, type, depth));
+        }
+
+        return new NBTMapType(null, entries, true);
+    }
+
+    private static NBTListType readList(final DataInput input, final Cursor cursor, final int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("NBT tree is deeper than " + MAX_DEPTH);
+        }
+
+        final byte type = input.readByte();
+        final int length = readLength(input);
+        if (type == TAG_END && length != 0) {
+            throw new IOException("List of end tags has " + length + " elements");
+        }
+
+        final List<Object> entries = new ArrayList<>(length);
+        for (int i = 0; i < length; ++i) {
+            entries.add(readEntry(input, cursor, type, depth));
+        }
+
+        return new NBTListType(null, entries, true);
+    }
+
+    private static Object readEntry(final DataInput input, final Cursor cursor, final byte type, final int depth) throws IOException {
+        if (cursor == null || (type != TAG_COMPOUND && type != TAG_LIST)) {
+            return readValue(input, type, depth);
+        }
+
+        final int start = cursor.position();
+        skipValue(input, type, depth + 1);
+        return new Encoded(cursor.buffer(), type, start, cursor.position() - start, depth + 1);
+    }
+
+    // returns boxed scalars, the arrays, a BinaryTag for strings, and the mutable wrapper for compounds and lists.
+    // the arrays are adopted by the wrappers, so borrowing them later does not copy
+    private static Object readValue(final DataInput input, final byte type, final int depth) throws IOException {
+        switch (type) {
+            case TAG_BYTE:
+                return Byte.valueOf(input.readByte());
+            case TAG_SHORT:
+                return Short.valueOf(input.readShort());
+            case TAG_INT:
+                return Integer.valueOf(input.readInt());
+            case TAG_LONG:
+                return Long.valueOf(input.readLong());
+            case TAG_FLOAT:
+                return Float.valueOf(input.readFloat());
+            case TAG_DOUBLE:
+                return Double.valueOf(input.readDouble());
+            case TAG_BYTE_ARRAY: {
+                final byte[] value = new byte[readLength(input)];
+                input.readFully(value);
+                return value;
+            }
+            case TAG_STRING:
+                return StringBinaryTag.stringBinaryTag(StringPool.intern(input.readUTF()));
+            case TAG_LIST:
+                return readList(input, null, depth + 1);
+            case TAG_COMPOUND:
+                return readCompound(input, null, depth + 1);
+            case TAG_INT_ARRAY: {
+                final int[] value = new int[readLength(input)];
+                for (int i = 0; i < value.length; ++i) {
+                    value[i] = input.readInt();
+                }
+                return value;
+            }
+            case TAG_LONG_ARRAY: {
+                final long[] value = new long[readLength(input)];
+                for (int i = 0; i < value.length; ++i) {
+                    value[i] = input.readLong();
+                }
+                return value;
+            }
+            default:
+                throw new IOException("Unknown tag type: " + type);
+        }
+    }
+
+    // validates the structure of the value while skipping it
+    private static void skipValue(final DataInput input, final byte type, final int depth) throws IOException {
+        switch (type) {
+            case TAG_BYTE_ARRAY:
+                skip(input, readLength(input));
+                break;
+            case TAG_STRING:
+                skip(input, input.readUnsignedShort());
+                break;
+            case TAG_INT_ARRAY:
+                skip(input, readLength(input) * 4L);
+                break;
+            case TAG_LONG_ARRAY:
+                skip(input, readLength(input) * 8L);
+                break;
+            case TAG_LIST: {
+                if (depth > MAX_DEPTH) {
+                    throw new IOException("NBT tree is deeper than " + MAX_DEPTH);
+                }
+                final byte elementType = input.readByte();
+                final int length = readLength(input);
+                if (elementType == TAG_END && length != 0) {
+                    throw new IOException("List of end tags has " + length + " elements");
+                }
+                final int elementSize = getFixedSize(elementType);
+                if (elementSize > 0) {
+                    skip(input, (long)length * elementSize);
+                } else {
+                    for (int i = 0; i < length; ++i) {
+                        skipValue(input, elementType, depth + 1);
+                    }
+                }
+                break;
+            }
+            case TAG_COMPOUND: {
+                if (depth > MAX_DEPTH) {
+                    throw new IOException("NBT tree is deeper than " + MAX_DEPTH);
+                }
+                byte entryType;
+                while ((entryType = input.readByte()) != TAG_END) {
+                    skip(input, input.readUnsignedShort());
+                    skipValue(input, entryType, depth + 1);
+                }
+                break;
+            }
+            default: {
+                final int size = getFixedSize(type);
+                if (size <= 0) {
+                    throw new IOException("Unknown tag type: " + type);
+                }
+                skip(input, size);
+                break;
+            }
+        }
+    }
+
+    // returns -1 for the types without a fixed size
+    private static int getFixedSize(final byte type) {
+        return switch (type) {
+            case TAG_BYTE -> 1;
+            case TAG_SHORT -> 2;
+            case TAG_INT, TAG_FLOAT -> 4;
+            case TAG_LONG, TAG_DOUBLE -> 8;
+            default -> -1;
+        };
+    }
+
+    private static void skip(final DataInput input, long bytes) throws IOException {
+        while (bytes > 0L) {
+            final int skipped = input.skipBytes((int)Math.min(bytes, Integer.MAX_VALUE));
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            bytes -= skipped;
+        }
+    }
+
+    private static int readLength(final DataInput input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Negative length: " + length);
+        }
+        return length;
+    }
+
+    private static void writeMap(final DataOutput output, final NBTMapType map) throws IOException {
+        final CompoundBinaryTag tag = map.getReadThroughTag();
+        if (tag != null) {
+            writeCompound(output, tag);
+            return;
+        }
+
+        for (final Map.Entry<String, Object> entry : map.getEntries().entrySet()) {
+            final Object value = entry.getValue();
+            output.writeByte(getTypeId(value));
+            output.writeUTF(entry.getKey());
+            writeValue(output, value);
+        }
+        output.writeByte(TAG_END);
+    }
+
+    private static void writeList(final DataOutput output, final NBTListType list) throws IOException {
+        final ListBinaryTag tag = list.getReadThroughTag();
+        if (tag != null) {
+            writeList(output, tag);
+            return;
+        }
+
+        final List<Object> entries = list.getEntries();
+        output.writeByte(entries.isEmpty() ? TAG_END : getTypeId(entries.get(0)));
+        output.writeInt(entries.size());
+        for (int i = 0, len = entries.size(); i < len; ++i) {
+            writeValue(output, entries.get(i));
+        }
+    }
+
+    private static void writeValue(final DataOutput output, final Object value) throws IOException {
+        switch (value) {
+            case NBTMapType map -> writeMap(output, map);
+            case NBTListType list -> writeList(output, list);
+            case Encoded encoded -> output.write(encoded.buffer(), encoded.offset(), encoded.length());
+            case BinaryTag tag -> writeTag(output, tag);
+            case Byte b -> output.writeByte(b);
+            case Short s -> output.writeShort(s);
+            case Integer i -> output.writeInt(i);
+            case Long l -> output.writeLong(l);
+            case Float f -> output.writeFloat(f);
+            case Double d -> output.writeDouble(d);
+            case byte[] bytes -> {
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+            case int[] ints -> writeInts(output, ints);
+            case long[] longs -> writeLongs(output, longs);
+            case PackedValues packed -> writeLongs(output, packed.pack());
+            default -> throw new IllegalStateException("Unrecognized type " + value);
+        }
+    }
+
+    private static byte getTypeId(final Object value) {
+        return switch (value) {
+            case NBTMapType map -> TAG_COMPOUND;
+            case NBTListType list -> TAG_LIST;
+            case Encoded encoded -> encoded.type();
+            case BinaryTag tag -> tag.type().id();
+            case Byte b -> TAG_BYTE;
+            case Short s -> TAG_SHORT;
+            case Integer i -> TAG_INT;
+            case Long l -> TAG_LONG;
+            case Float f -> TAG_FLOAT;
+            case Double d -> TAG_DOUBLE;
+            case byte[] bytes -> TAG_BYTE_ARRAY;
+            case int[] ints -> TAG_INT_ARRAY;
+            case long[] longs -> TAG_LONG_ARRAY;
+            case PackedValues packed -> TAG_LONG_ARRAY;
+            default -> throw new IllegalStateException("Unrecognized type " + value);
+        };
+    }
+
+    private static void writeCompound(final DataOutput output, final CompoundBinaryTag tag) throws IOException {
+        for (final Map.Entry<String, ? extends BinaryTag> entry : tag) {
+            final BinaryTag value = entry.getValue();
+            output.writeByte(value.type().id());
+            output.writeUTF(entry.getKey());
+            writeTag(output, value);
+        }
+        output.writeByte(TAG_END);
+    }
+
+    private static void writeList(final DataOutput output, final ListBinaryTag tag) throws IOException {
+        output.writeByte(tag.size() == 0 ? TAG_END : tag.elementType().id());
+        output.writeInt(tag.size());
+        for (final BinaryTag element : tag) {
+            writeTag(output, element);
+        }
+    }
+
+    private static void writeTag(final DataOutput output, final BinaryTag tag) throws IOException {
+        switch (tag.type().id()) {
+            case TAG_BYTE:
+                output.writeByte(((ByteBinaryTag) tag).value());
+                break;
+            case TAG_SHORT:
+                output.writeShort(((ShortBinaryTag) tag).value());
+                break;
+            case TAG_INT:
+                output.writeInt(((IntBinaryTag) tag).value());
+                break;
+            case TAG_LONG:
+                output.writeLong(((LongBinaryTag) tag).value());
+                break;
+            case TAG_FLOAT:
+                output.writeFloat(((FloatBinaryTag) tag).value());
+                break;
+            case TAG_DOUBLE:
+                output.writeDouble(((DoubleBinaryTag) tag).value());
+                break;
+            case TAG_BYTE_ARRAY: {
+                final byte[] value = ((ByteArrayBinaryTag) tag).value();
+                output.writeInt(value.length);
+                output.write(value);
+                break;
+            }
+            case TAG_STRING:
+                output.writeUTF(((StringBinaryTag) tag).value());
+                break;
+            case TAG_LIST:
+                writeList(output, (ListBinaryTag) tag);
+                break;
+            case TAG_COMPOUND:
+                writeCompound(output, (CompoundBinaryTag) tag);
+                break;
+            case TAG_INT_ARRAY:
+                writeInts(output, ((IntArrayBinaryTag) tag).value());
+                break;
+            case TAG_LONG_ARRAY:
+                writeLongs(output, ((LongArrayBinaryTag) tag).value());
+                break;
+            default:
+                throw new IllegalStateException("Unrecognized type " + tag);
+        }
+    }
+
+    private static void writeInts(final DataOutput output, final int[] value) throws IOException {
+        output.writeInt(value.length);
+        for (final int element : value) {
+            output.writeInt(element);
+        }
+    }
+
+    private static void writeLongs(final DataOutput output, final long[] value) throws IOException {
+        output.writeInt(value.length);
+        for (final long element : value) {
+            output.writeLong(element);
+        }
+    }
+
+    // reads from an array, and tracks the position so that the entries left encoded know where their bytes are
+    private static final class Cursor extends ByteArrayInputStream {
+
+        private Cursor(final byte[] buffer, final int offset, final int length) {
+            super(buffer, offset, length);
+        }
+
+        private byte[] buffer() {
+            return this.buf;
+        }
+
+        private int position() {
+            return this.pos;
+        }
+    }
+
+    /**
+     * A compound or list read lazily, which is decoded the first time it is read from its parent. Until then, its
+     * bytes are written as-is.
+     */
+    static record Encoded(byte[] buffer, byte type, int offset, int length, int depth) {
+
+        Object decode() {
+            final Cursor cursor = new Cursor(this.buffer, this.offset, this.length);
+            final DataInput input = new DataInputStream(cursor);
+            try {
+                return this.type == TAG_COMPOUND ? readCompound(input, cursor, this.depth) : readList(input, cursor, this.depth);
+            } catch (final IOException ex) {
+                // the structure was validated when skipping the value, so this is a malformed string
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ca.spottedleaf.dataconverter.types.nbt;
 
 import ca.spottedleaf.dataconverter.types.*;
+import ca.spottedleaf.dataconverter.util.StringPool;
 import net.kyori.adventure.nbt.*;
 
 import java.util.ArrayList;
@@ -8,20 +9,105 @@ import java.util.List;
 
 public final class NBTListType implements ListType {
 
-    private List<Object> list; // Can contain BinaryTags, NBTListType, NBTMapType
+    // Elements are read from the tag until the first time this list needs its own storage, see NBTMapType
+    private ListBinaryTag tag;
+    private List<Object> list; // Can contain BinaryTags, boxed scalars, adopted arrays, NBTListType, NBTMapType, NBTIO.Encoded
+    // whether the list was modified directly, rather than only caching wrappers for the tag's elements
+    private boolean dirty;
+    // read-only lists may be shared between threads and documents, so they never cache anything
+    private boolean readOnly;
 
     public NBTListType() {
         this.list = new ArrayList<>();
     }
 
     public NBTListType(final ListBinaryTag tag) {
-        this.list = new ArrayList<>(tag.stream().toList());
+        this.tag = tag;
     }
 
     public NBTListType(final List<Object> entries) {
         this.list = new ArrayList<>(entries);
     }
 
+    NBTListType(final ListBinaryTag tag, final List<Object> entries, final boolean dirty) {
+        this.tag = tag;
+        this.list = entries;
+        this.dirty = dirty;
+    }
+
+    private Object getEntry(final int index) {
+        return this.list == null ? this.tag.get(index) : this.list.get(index);
+    }
+
+    private Object get(final int index) {
+        final Object ret = this.getEntry(index);
+        // see NBTMapType#get
+        if (ret instanceof NBTIO.Encoded encoded) {
+            final Object decoded = encoded.decode();
+            this.list.set(index, decoded);
+            return decoded;
+        }
+        return ret;
+    }
+
+    /**
+     * Returns a list which throws on modification. When added to another list or map, only its tag is stored, so
+     * that each document gets its own copy-on-write wrapper when it reads the list back.
+     */
+    public static NBTListType readOnly(final ListBinaryTag tag) {
+        final NBTListType ret = new NBTListType(tag);
+        ret.readOnly = true;
+        return ret;
+    }
+
+    static Object toEntry(final ListType list) {
+        return list instanceof NBTListType nbt && nbt.readOnly ? nbt.tag : list;
+    }
+
+    private List<Object> materialize() {
+        List<Object> ret = this.list;
+        if (ret == null) {
+            this.list = ret = new ArrayList<>(this.tag.size());
+            for (final BinaryTag element : this.tag) {
+                ret.add(element);
+            }
+        }
+        return ret;
+    }
+
+    private List<Object> mutate() {
+        if (this.readOnly) {
+            throw new UnsupportedOperationException("List is read-only");
+        }
+        this.dirty = true;
+        return this.materialize();
+    }
+
+    // does not store the entries, so that reading does not modify the list
+    private List<Object> entries() {
+        if (this.list == null) {
+            final List<Object> ret = new ArrayList<>(this.tag.size());
+            for (final BinaryTag element : this.tag) {
+                ret.add(element);
+            }
+            return ret;
+        }
+        final List<Object> ret = new ArrayList<>(this.list.size());
+        for (final Object element : this.list) {
+            ret.add(toComparable(element));
+        }
+        return ret;
+    }
+
+    // the tag elements are still read from, or null once this list has its own storage
+    ListBinaryTag getReadThroughTag() {
+        return this.list == null ? this.tag : null;
+    }
+
+    List<Object> getEntries() {
+        return this.list;
+    }
+
     @Override
     public TypeUtil getTypeUtil() {
         return Types.NBT;
@@ -36,40 +122,53 @@ public final class NBTListType implements ListType {
             return false;
         }
 
-        return this.list.equals(((NBTListType) obj).list);
+        return this.entries().equals(((NBTListType) obj).entries());
     }
 
     @Override
     public int hashCode() {
-        return this.list.hashCode();
+        return this.entries().hashCode();
     }
 
     @Override
     public String toString() {
         return "NBTListType{" +
-                "list=" + this.list +
+                "list=" + this.entries() +
                 '}';
     }
 
     public ListBinaryTag getTag() {
-        final ListBinaryTag.Builder<BinaryTag> builder = ListBinaryTag.builder();
-        for (Object entry : this.list) {
-            if (entry instanceof BinaryTag tag) {
-                builder.add(tag);
-            } else if (entry instanceof NBTListType list) {
-                builder.add((BinaryTag) list.getTag());
-            } else if (entry instanceof NBTMapType map) {
-                builder.add(map.getTag());
-            } else {
-                throw new IllegalStateException("Unknown type: " + entry);
+        if (this.list == null) {
+            return this.tag;
+        }
+
+        final BinaryTag[] tags = new BinaryTag[this.list.size()];
+        // if only wrappers were cached, the original tag can be reused when none of them changed
+        boolean changed = this.dirty || this.tag == null;
+        for (int i = 0, len = tags.length; i < len; ++i) {
+            tags[i] = toTag(this.list.get(i));
+            if (!changed) {
+                changed = tags[i] != this.tag.get(i);
             }
         }
+
+        if (!changed) {
+            return this.tag;
+        }
+
+        final ListBinaryTag.Builder<BinaryTag> builder = ListBinaryTag.builder();
+        for (final BinaryTag tag : tags) {
+            builder.add(tag);
+        }
         return builder.build();
     }
 
     @Override
     public ListType copy() {
-        return new NBTListType(this.list);
+        if (this.list == null) {
+            return new NBTListType(this.tag);
+        }
+        return new NBTListType(this.tag, new ArrayList<>(this.list), this.dirty);
     }
 
     protected static ObjectType getType(final byte id) {
@@ -105,148 +204,209 @@ public final class NBTListType implements ListType {
         }
     }
 
-    @Override
-    public ObjectType getType() {
-        if (this.list.isEmpty())
-            return ObjectType.NONE;
-        return switch (this.list.getFirst()) {
+    static ObjectType getType(final Object entry) {
+        return switch (entry) {
             case BinaryTag tag -> getType(tag.type().id());
+            case Byte b -> ObjectType.BYTE;
+            case Short s -> ObjectType.SHORT;
+            case Integer i -> ObjectType.INT;
+            case Long l -> ObjectType.LONG;
+            case Float f -> ObjectType.FLOAT;
+            case Double d -> ObjectType.DOUBLE;
+            case byte[] bytes -> ObjectType.BYTE_ARRAY;
+            case int[] ints -> ObjectType.INT_ARRAY;
+            case long[] longs -> ObjectType.LONG_ARRAY;
+            case PackedValues packed -> ObjectType.LONG_ARRAY;
             case NBTListType l -> ObjectType.LIST;
             case NBTMapType m -> ObjectType.MAP;
+            case NBTIO.Encoded encoded -> getType(encoded.type());
             default -> ObjectType.NONE;
         };
     }
 
+    // scalars set through the wrappers are stored boxed and adopted arrays are stored as-is, and both only become
+    // tags when the tag is built. the boxes are still allocated, except for the values in the JDK box caches
+    static BinaryTag toTag(final Object entry) {
+        return switch (entry) {
+            case BinaryTag tag -> tag;
+            case Byte b -> ByteBinaryTag.byteBinaryTag(b);
+            case Short s -> ShortBinaryTag.shortBinaryTag(s);
+            case Integer i -> IntBinaryTag.intBinaryTag(i);
+            case Long l -> LongBinaryTag.longBinaryTag(l);
+            case Float f -> FloatBinaryTag.floatBinaryTag(f);
+            case Double d -> DoubleBinaryTag.doubleBinaryTag(d);
+            case byte[] bytes -> ByteArrayBinaryTag.byteArrayBinaryTag(bytes);
+            case int[] ints -> IntArrayBinaryTag.intArrayBinaryTag(ints);
+            case long[] longs -> LongArrayBinaryTag.longArrayBinaryTag(longs);
+            case PackedValues packed -> packed.toTag();
+            case NBTListType list -> list.getTag();
+            case NBTMapType map -> map.getTag();
+            case NBTIO.Encoded encoded -> toTag(encoded.decode());
+            default -> throw new IllegalStateException("Unrecognized type " + entry);
+        };
+    }
+
+    // boxed scalars and arrays are not equal to the tags with the same value, so compare entries as tags. encoded
+    // entries are compared as the wrappers they decode to
+    static Object toComparable(final Object entry) {
+        if (entry instanceof NBTIO.Encoded encoded) {
+            return encoded.decode();
+        }
+        return entry instanceof Number || entry instanceof byte[] || entry instanceof int[] || entry instanceof long[]
+                || entry instanceof PackedValues ? toTag(entry) : entry;
+    }
+
+    // returns null if the entry is not a number
+    static Number numberValue(final Object entry) {
+        return switch (entry) {
+            case Number number -> number;
+            case ByteBinaryTag byteTag -> byteTag.value();
+            case ShortBinaryTag shortTag -> shortTag.value();
+            case IntBinaryTag intTag -> intTag.value();
+            case LongBinaryTag longTag -> longTag.value();
+            case FloatBinaryTag floatTag -> floatTag.value();
+            case DoubleBinaryTag doubleTag -> doubleTag.value();
+            case null, default -> null;
+        };
+    }
+
+    @Override
+    public ObjectType getType() {
+        if (this.size() == 0)
+            return ObjectType.NONE;
+        return getType(this.getEntry(0));
+    }
+
     @Override
     public int size() {
-        return this.list.size();
+        return this.list == null ? this.tag.size() : this.list.size();
     }
 
     @Override
     public void remove(final int index) {
-        this.list.remove(index);
+        this.mutate().remove(index);
     }
 
     @Override
     public Number getNumber(final int index) {
-        final Object tag = this.list.get(index);
-        if (!(tag instanceof NumberBinaryTag)) {
+        final Number ret = numberValue(this.get(index));
+        if (ret == null) {
             throw new IllegalStateException();
         }
-        switch (tag) {
-            case ByteBinaryTag byteTag:
-                return byteTag.value();
-            case ShortBinaryTag shortTag:
-                return shortTag.value();
-            case IntBinaryTag intTag:
-                return intTag.value();
-            case LongBinaryTag longTag:
-                return longTag.value();
-            case FloatBinaryTag floatTag:
-                return floatTag.value();
-            case DoubleBinaryTag doubleTag:
-                return doubleTag.value();
-            default:
-                throw new IllegalStateException("Unrecognized type " + tag);
-        }
+        return ret;
     }
 
     @Override
     public byte getByte(final int index) {
-        final Object tag = this.list.get(index);
-        if (!(tag instanceof NumberBinaryTag)) {
-            throw new IllegalStateException();
-        }
-        return ((NumberBinaryTag) tag).byteValue();
+        return switch (this.get(index)) {
+            case NumberBinaryTag tag -> tag.byteValue();
+            case Number number -> number.byteValue();
+            default -> throw new IllegalStateException();
+        };
     }
 
     @Override
     public void setByte(final int index, final byte to) {
-        this.list.set(index, ByteBinaryTag.byteBinaryTag(to));
+        this.mutate().set(index, Byte.valueOf(to));
     }
 
     @Override
     public short getShort(final int index) {
-        final Object tag = this.list.get(index);
-        if (!(tag instanceof NumberBinaryTag)) {
-            throw new IllegalStateException();
-        }
-        return ((NumberBinaryTag) tag).shortValue();
+        return switch (this.get(index)) {
+            case NumberBinaryTag tag -> tag.shortValue();
+            case Number number -> number.shortValue();
+            default -> throw new IllegalStateException();
+        };
     }
 
     @Override
     public void setShort(final int index, final short to) {
-        this.list.set(index, ShortBinaryTag.shortBinaryTag(to));
+        this.mutate().set(index, Short.valueOf(to));
     }
 
     @Override
     public int getInt(final int index) {
-        final Object tag = this.list.get(index);
-        if (!(tag instanceof NumberBinaryTag)) {
-            throw new IllegalStateException();
-        }
-        return ((NumberBinaryTag) tag).intValue();
+        return switch (this.get(index)) {
+            case NumberBinaryTag tag -> tag.intValue();
+            case Number number -> number.intValue();
+            default -> throw new IllegalStateException();
+        };
     }
 
     @Override
     public void setInt(final int index, final int to) {
-        this.list.set(index, IntBinaryTag.intBinaryTag(to));
+        this.mutate().set(index, Integer.valueOf(to));
     }
 
     @Override
     public long getLong(final int index) {
-        final Object tag = this.list.get(index); // does bound checking for us
-        if (!(tag instanceof NumberBinaryTag)) {
-            throw new IllegalStateException();
-        }
-        return ((NumberBinaryTag) tag).longValue();
+        return switch (this.get(index)) { // does bound checking for us
+            case NumberBinaryTag tag -> tag.longValue();
+            case Number number -> number.longValue();
+            default -> throw new IllegalStateException();
+        };
     }
 
     @Override
     public void setLong(final int index, final long to) {
-        this.list.set(index, LongBinaryTag.longBinaryTag(to));
+        this.mutate().set(index, Long.valueOf(to));
     }
 
     @Override
     public float getFloat(final int index) {
-        final Object tag = this.list.get(index); // does bound checking for us
-        if (!(tag instanceof NumberBinaryTag)) {
-            throw new IllegalStateException();
-        }
-        return ((NumberBinaryTag) tag).floatValue();
+        return switch (this.get(index)) { // does bound checking for us
+            case NumberBinaryTag tag -> tag.floatValue();
+            case Number number -> number.floatValue();
+            default -> throw new IllegalStateException();
+        };
     }
 
     @Override
     public void setFloat(final int index, final float to) {
-        this.list.set(index, FloatBinaryTag.floatBinaryTag(to));
+        this.mutate().set(index, Float.valueOf(to));
     }
 
     @Override
     public double getDouble(final int index) {
-        final Object tag = this.list.get(index); // does bound checking for us
-        if (!(tag instanceof NumberBinaryTag)) {
-            throw new IllegalStateException();
-        }
-        return ((NumberBinaryTag) tag).doubleValue();
+        return switch (this.get(index)) { // does bound checking for us
+            case NumberBinaryTag tag -> tag.doubleValue();
+            case Number number -> number.doubleValue();
+            default -> throw new IllegalStateException();
+        };
     }
 
     @Override
     public void setDouble(final int index, final double to) {
-        this.list.set(index, DoubleBinaryTag.doubleBinaryTag(to));
+        this.mutate().set(index, Double.valueOf(to));
     }
 
     @Override
     public byte[] getBytes(final int index) {
-        final Object tag = this.list.get(index); // does bound checking for us
-        if (!(tag instanceof ByteArrayBinaryTag)) {
-            throw new IllegalStateException();
-        }
-        return ((ByteArrayBinaryTag) tag).value();
+        return switch (this.get(index)) { // does bound checking for us
+            case ByteArrayBinaryTag tag -> tag.value();
+            case byte[] bytes -> bytes.clone();
+            default -> throw new IllegalStateException();
+        };
     }
 
     @Override
     public void setBytes(final int index, final byte[] to) {
-        this.list.set(index, ByteArrayBinaryTag.byteArrayBinaryTag(to));
+        this.mutate().set(index, ByteArrayBinaryTag.byteArrayBinaryTag(to));
+    }
+
+    @Override
+    public byte[] borrowBytes(final int index) {
+        return switch (this.get(index)) { // does bound checking for us
+            case byte[] bytes -> bytes;
+            // the tag only hands out copies
+            case ByteArrayBinaryTag tag -> tag.value();
+            default -> throw new IllegalStateException();
+        };
+    }
+
+    @Override
+    public void adoptBytes(final int index, final byte[] to) {
+        this.mutate().set(index, to);
     }
 
     @Override
@@ -262,52 +422,88 @@ public final class NBTListType implements ListType {
 
     @Override
     public int[] getInts(final int index) {
-        final Object tag = this.list.get(index); // does bound checking for us
-        if (!(tag instanceof IntArrayBinaryTag)) {
-            throw new IllegalStateException();
-        }
-        return ((IntArrayBinaryTag) tag).value();
+        return switch (this.get(index)) { // does bound checking for us
+            case IntArrayBinaryTag tag -> tag.value();
+            case int[] ints -> ints.clone();
+            default -> throw new IllegalStateException();
+        };
     }
 
     @Override
     public void setInts(final int index, final int[] to) {
-        this.list.set(index, IntArrayBinaryTag.intArrayBinaryTag(to));
+        this.mutate().set(index, IntArrayBinaryTag.intArrayBinaryTag(to));
+    }
+
+    @Override
+    public int[] borrowInts(final int index) {
+        return switch (this.get(index)) { // does bound checking for us
+            case int[] ints -> ints;
+            // the tag only hands out copies
+            case IntArrayBinaryTag tag -> tag.value();
+            default -> throw new IllegalStateException();
+        };
+    }
+
+    @Override
+    public void adoptInts(final int index, final int[] to) {
+        this.mutate().set(index, to);
     }
 
     @Override
     public long[] getLongs(final int index) {
-        final Object tag = this.list.get(index); // does bound checking for us
-        if (!(tag instanceof LongArrayBinaryTag)) {
-            throw new IllegalStateException();
-        }
-        return ((LongArrayBinaryTag) tag).value();
+        return switch (this.get(index)) { // does bound checking for us
+            case LongArrayBinaryTag tag -> tag.value();
+            case long[] longs -> longs.clone();
+            default -> throw new IllegalStateException();
+        };
     }
 
     @Override
     public void setLongs(final int index, final long[] to) {
-        this.list.set(index, LongArrayBinaryTag.longArrayBinaryTag(to));
+        this.mutate().set(index, LongArrayBinaryTag.longArrayBinaryTag(to));
+    }
+
+    @Override
+    public long[] borrowLongs(final int index) {
+        return switch (this.get(index)) { // does bound checking for us
+            case long[] longs -> longs;
+            // the tag only hands out copies
+            case LongArrayBinaryTag tag -> tag.value();
+            default -> throw new IllegalStateException();
+        };
+    }
+
+    @Override
+    public void adoptLongs(final int index, final long[] to) {
+        this.mutate().set(index, to);
     }
 
     @Override
     public ListType getList(final int index) {
-        final Object tag = this.list.get(index); // does bound checking for us
+        final Object tag = this.get(index); // does bound checking for us
+        if (tag instanceof NBTListType list) {
+            return list;
+        }
         if (!(tag instanceof ListBinaryTag)) {
             throw new IllegalStateException();
         }
-        return new NBTListType((ListBinaryTag) tag);
+        return this.readOnly ? readOnly((ListBinaryTag) tag) : new NBTListType((ListBinaryTag) tag);
     }
 
     @Override
     public void setList(final int index, final ListType list) {
-        this.list.set(index, ((NBTListType) list).getTag());
+        this.mutate().set(index, ((NBTListType) list).getTag());
     }
 
     @Override
     public MapType<String> getMap(final int index) {
-        final Object tag = this.list.get(index); // does bound checking for us
+        final Object tag = this.get(index); // does bound checking for us
         if (tag instanceof CompoundBinaryTag compound) {
+            if (this.readOnly) {
+                return NBTMapType.readOnly(compound);
+            }
             var map = new NBTMapType(compound);
-            this.list.set(index, map);
+            this.materialize().set(index, map);
             return map;
         } else if (tag instanceof NBTMapType map) {
             return map;
@@ -318,12 +514,12 @@ public final class NBTListType implements ListType {
 
     @Override
     public void setMap(final int index, final MapType<?> to) {
-        this.list.set(index, ((NBTMapType) to).getTag());
+        this.mutate().set(index, ((NBTMapType) to).getTag());
     }
 
     @Override
     public String getString(final int index) {
-        final Object tag = this.list.get(index); // does bound checking for us
+        final Object tag = this.get(index); // does bound checking for us
         if (!(tag instanceof StringBinaryTag)) {
             throw new IllegalStateException();
         }
@@ -332,77 +528,77 @@ public final class NBTListType implements ListType {
 
     @Override
     public void setString(final int index, final String to) {
-        this.list.set(index, StringBinaryTag.stringBinaryTag(to));
+        this.mutate().set(index, StringBinaryTag.stringBinaryTag(StringPool.intern(to)));
     }
 
     @Override
     public void addByte(final byte b) {
-        this.list.add(ByteBinaryTag.byteBinaryTag(b));
+        this.mutate().add(Byte.valueOf(b));
     }
 
     @Override
     public void addByte(final int index, final byte b) {
-        this.list.set(index, ByteBinaryTag.byteBinaryTag(b));
+        this.mutate().set(index, Byte.valueOf(b));
     }
 
     @Override
     public void addShort(final short s) {
-        this.list.add(ShortBinaryTag.shortBinaryTag(s));
+        this.mutate().add(Short.valueOf(s));
     }
 
     @Override
     public void addShort(final int index, final short s) {
-        this.list.set(index, ShortBinaryTag.shortBinaryTag(s));
+        this.mutate().set(index, Short.valueOf(s));
     }
 
     @Override
     public void addInt(final int i) {
-        this.list.add(IntBinaryTag.intBinaryTag(i));
+        this.mutate().add(Integer.valueOf(i));
     }
 
     @Override
     public void addInt(final int index, final int i) {
-        this.list.set(index, IntBinaryTag.intBinaryTag(i));
+        this.mutate().set(index, Integer.valueOf(i));
     }
 
     @Override
     public void addLong(final long l) {
-        this.list.add(LongBinaryTag.longBinaryTag(l));
+        this.mutate().add(Long.valueOf(l));
     }
 
     @Override
     public void addLong(final int index, final long l) {
-        this.list.set(index, LongBinaryTag.longBinaryTag(l));
+        this.mutate().set(index, Long.valueOf(l));
     }
 
     @Override
     public void addFloat(final float f) {
-        this.list.add(FloatBinaryTag.floatBinaryTag(f));
+        this.mutate().add(Float.valueOf(f));
     }
 
     @Override
     public void addFloat(final int index, final float f) {
-        this.list.set(index, FloatBinaryTag.floatBinaryTag(f));
+        this.mutate().set(index, Float.valueOf(f));
     }
 
     @Override
     public void addDouble(final double d) {
-        this.list.add(DoubleBinaryTag.doubleBinaryTag(d));
+        this.mutate().add(Double.valueOf(d));
     }
 
     @Override
     public void addDouble(final int index, final double d) {
-        this.list.set(index, DoubleBinaryTag.doubleBinaryTag(d));
+        this.mutate().set(index, Double.valueOf(d));
     }
 
     @Override
     public void addByteArray(final byte[] arr) {
-        this.list.add(ByteArrayBinaryTag.byteArrayBinaryTag(arr));
+        this.mutate().add(ByteArrayBinaryTag.byteArrayBinaryTag(arr));
     }
 
     @Override
     public void addByteArray(final int index, final byte[] arr) {
-        this.list.set(index, ByteArrayBinaryTag.byteArrayBinaryTag(arr));
+        this.mutate().set(index, ByteArrayBinaryTag.byteArrayBinaryTag(arr));
     }
 
     @Override
@@ -419,51 +615,51 @@ public final class NBTListType implements ListType {
 
     @Override
     public void addIntArray(final int[] arr) {
-        this.list.add(IntArrayBinaryTag.intArrayBinaryTag(arr));
+        this.mutate().add(IntArrayBinaryTag.intArrayBinaryTag(arr));
     }
 
     @Override
     public void addIntArray(final int index, final int[] arr) {
-        this.list.set(index, IntArrayBinaryTag.intArrayBinaryTag(arr));
+        this.mutate().set(index, IntArrayBinaryTag.intArrayBinaryTag(arr));
     }
 
     @Override
     public void addLongArray(final long[] arr) {
-        this.list.add(LongArrayBinaryTag.longArrayBinaryTag(arr));
+        this.mutate().add(LongArrayBinaryTag.longArrayBinaryTag(arr));
     }
 
     @Override
     public void addLongArray(final int index, final long[] arr) {
-        this.list.set(index, LongArrayBinaryTag.longArrayBinaryTag(arr));
+        this.mutate().set(index, LongArrayBinaryTag.longArrayBinaryTag(arr));
     }
 
     @Override
     public void addList(final ListType list) {
-        this.list.add(list);
+        this.mutate().add(toEntry(list));
     }
 
     @Override
     public void addList(final int index, final ListType list) {
-        this.list.set(index, list);
+        this.mutate().set(index, toEntry(list));
     }
 
     @Override
     public void addMap(final MapType<?> map) {
-        this.list.add(map);
+        this.mutate().add(NBTMapType.toEntry(map));
     }
 
     @Override
     public void addMap(final int index, final MapType<?> map) {
-        this.list.set(index, map);
+        this.mutate().set(index, NBTMapType.toEntry(map));
     }
 
     @Override
     public void addString(final String string) {
-        this.list.add(StringBinaryTag.stringBinaryTag(string));
+        this.mutate().add(StringBinaryTag.stringBinaryTag(StringPool.intern(string)));
     }
 
     @Override
     public void addString(final int index, final String string) {
-        this.list.set(index, StringBinaryTag.stringBinaryTag(string));
+        this.mutate().set(index, StringBinaryTag.stringBinaryTag(StringPool.intern(string)));
     }
 }
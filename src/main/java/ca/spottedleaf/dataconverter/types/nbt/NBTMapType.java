@@ -2,36 +2,164 @@ package ca.spottedleaf.dataconverter.types.nbt;
 
 import ca.spottedleaf.dataconverter.types.*;
 import net.kyori.adventure.nbt.*;
+import ca.spottedleaf.dataconverter.util.SmallMap;
+import ca.spottedleaf.dataconverter.util.StringPool;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 public final class NBTMapType implements MapType<String> {
 
-    private Map<String, Object> map; // Can contain BinaryTag, NBTMapType, NBTListType
+    // Entries are read from the tag until the first time this map needs its own storage. Untouched tags are never
+    // copied, so getTag() can return them as-is
+    private CompoundBinaryTag tag;
+    // Can contain BinaryTag, boxed scalars, adopted arrays, PackedValues, NBTMapType, NBTListType, NBTIO.Encoded.
+    // Scalars are boxed rather than stored as primitives, so setting a float, a double, or an int or long outside
+    // the JDK box cache still allocates the box; it only saves the tag
+    private Map<String, Object> map;
+    // whether the map was modified directly, rather than only caching wrappers for the tag's entries
+    private boolean dirty;
+    // read-only maps may be shared between threads and documents, so they never cache anything
+    private boolean readOnly;
+    // cached hash, 0 if not computed. it is reset whenever this map or a nested compound it owns is written to.
+    // racing threads store the same value, so read-only maps cache it as well
+    private int hash;
+    // the map holding this wrapper as an entry, whose cached hash depends on this map. null until a map claims it,
+    // and SHARED once stored in more than one map, as then no single parent can be told of writes
+    private NBTMapType owner;
+
+    private static final NBTMapType SHARED = new NBTMapType();
 
     public NBTMapType() {
-        this.map = new HashMap<>();
+        this.map = new SmallMap<>();
     }
 
     public NBTMapType(final CompoundBinaryTag tag) {
-        this.map = new HashMap<>();
-        for (var entry : tag) {
-            this.map.put(entry.getKey(), entry.getValue());
-        }
+        this.tag = tag;
     }
 
     public NBTMapType(@NotNull Map<String, Object> copy) {
-        this.map = new HashMap<>(copy.size());
+        this.map = copyEntries(copy);
+    }
+
+    NBTMapType(final CompoundBinaryTag tag, final Map<String, Object> map, final boolean dirty) {
+        this.tag = tag;
+        this.map = map;
+        this.dirty = dirty;
+    }
+
+    private static Map<String, Object> copyEntries(final Map<String, Object> copy) {
+        final Map<String, Object> ret = new SmallMap<>(copy.size());
         for (var entry : copy.entrySet()) {
-            this.map.put(entry.getKey(), switch (entry.getValue()) {
+            ret.put(entry.getKey(), switch (entry.getValue()) {
                 case NBTListType l -> l.copy();
                 case NBTMapType m -> m.copy();
                 default -> entry.getValue();
             });
         }
+        return ret;
+    }
+
+    private Object getEntry(final String key) {
+        return this.map == null ? this.tag.get(key) : this.map.get(key);
+    }
+
+    private Object get(final String key) {
+        final Object ret = this.getEntry(key);
+        // compounds and lists read lazily from binary NBT are decoded the first time they are read
+        if (ret instanceof NBTIO.Encoded encoded) {
+            final Object decoded = encoded.decode();
+            this.map.put(key, decoded);
+            this.adopt(decoded);
+            this.hash = 0;
+            return decoded;
+        }
+        return ret;
+    }
+
+    /**
+     * Returns a map which throws on modification, for constants shared between documents and threads. When set in
+     * another map or list, only its tag is stored, so that each document gets its own copy-on-write wrapper when it
+     * reads the map back. {@link #copy()} returns a modifiable map.
+     */
+    public static NBTMapType readOnly(final CompoundBinaryTag tag) {
+        final NBTMapType ret = new NBTMapType(tag);
+        ret.readOnly = true;
+        return ret;
+    }
+
+    static Object toEntry(final MapType<?> map) {
+        return map instanceof NBTMapType nbt && nbt.readOnly ? nbt.tag : map;
+    }
+
+    // does not store the entries, so that reading does not modify the map
+    private Map<String, Object> entries() {
+        if (this.map == null) {
+            final Map<String, Object> ret = new SmallMap<>(this.tag.size());
+            for (var entry : this.tag) {
+                ret.put(entry.getKey(), entry.getValue());
+            }
+            return ret;
+        }
+        final Map<String, Object> ret = new SmallMap<>(this.map.size());
+        for (var entry : this.map.entrySet()) {
+            ret.put(entry.getKey(), NBTListType.toComparable(entry.getValue()));
+        }
+        return ret;
+    }
+
+    private Map<String, Object> materialize() {
+        this.hash = 0;
+        Map<String, Object> ret = this.map;
+        if (ret == null) {
+            this.map = ret = new SmallMap<>(this.tag.size());
+            for (var entry : this.tag) {
+                ret.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return ret;
+    }
+
+    private Map<String, Object> mutate() {
+        if (this.readOnly) {
+            throw new UnsupportedOperationException("Map is read-only");
+        }
+        this.dirty = true;
+        this.invalidateHash();
+        return this.materialize();
+    }
+
+    // resets the cached hash of this map and of every map owning it
+    private void invalidateHash() {
+        for (NBTMapType map = this; map != null && map != SHARED; map = map.owner) {
+            map.hash = 0;
+        }
+    }
+
+    // records that the entry is held by this map, so that writes to it reset the cached hash of this map
+    private void adopt(final Object entry) {
+        if (entry instanceof NBTMapType child && !child.readOnly) {
+            if (child.owner == null) {
+                child.owner = this;
+            } else if (child.owner != this && child.owner != SHARED) {
+                // the previous owner can no longer be told of writes, so it must not keep or cache its hash
+                child.owner.invalidateHash();
+                child.owner = SHARED;
+            }
+        }
+    }
+
+    // the tag entries are still read from, or null once this map has its own storage
+    CompoundBinaryTag getReadThroughTag() {
+        return this.map == null ? this.tag : null;
+    }
+
+    Map<String, Object> getEntries() {
+        return this.map;
     }
 
     @Override
@@ -43,7 +171,7 @@ public final class NBTMapType implements MapType<String> {
             return false;
         }
 
-        return this.map.equals(((NBTMapType) obj).map);
+        return this.entries().equals(((NBTMapType) obj).entries());
     }
 
     @Override
@@ -53,86 +181,191 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public int hashCode() {
-        return this.map.hashCode();
+        int ret = this.hash;
+        if (ret != 0) {
+            return ret;
+        }
+
+        // same as the hash of the entries as a map
+        // tags are immutable, but the wrappers of nested compounds and lists may be modified directly. nested
+        // compounds owned by this map reset its hash when written to. wrappers this map creates are owned from the
+        // start, and the only unclaimed ones are those built with this map by the reader or a copy, so they are
+        // claimed here. the hash is only cached if theirs is, as writes below a compound which cannot cache stop
+        // there. lists do not report writes, so maps holding them are not cached
+        boolean cache = true;
+        if (this.map == null) {
+            for (var entry : this.tag) {
+                ret += entry.getKey().hashCode() ^ entry.getValue().hashCode();
+            }
+        } else {
+            for (var entry : this.map.entrySet()) {
+                final Object value = entry.getValue();
+                ret += entry.getKey().hashCode() ^ NBTListType.toComparable(value).hashCode();
+                if (value instanceof NBTMapType child) {
+                    if (child.owner == null) {
+                        child.owner = this;
+                    }
+                    cache &= child.owner == this && child.hash != 0;
+                } else {
+                    cache &= !(value instanceof NBTListType);
+                }
+            }
+        }
+
+        if (cache) {
+            this.hash = ret;
+        }
+        return ret;
     }
 
     @Override
     public String toString() {
         return "NBTMapType{" +
-                "map=" + this.map +
+                "map=" + this.entries() +
                 '}';
     }
 
     @Override
     public int size() {
-        return this.map.size();
+        return this.map == null ? this.tag.size() : this.map.size();
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return this.size() == 0;
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        if (this.readOnly) {
+            throw new UnsupportedOperationException("Map is read-only");
+        }
+        this.map = new SmallMap<>();
+        this.dirty = true;
+        this.invalidateHash();
     }
 
     @Override
     public Set<String> keys() {
-        return this.map.keySet();
+        return this.map == null ? this.tag.keySet() : this.map.keySet();
     }
 
     public BinaryTag getTag() {
-        CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+        if (this.map == null) {
+            return this.tag;
+        }
+
+        final BinaryTag[] tags = new BinaryTag[this.map.size()];
+        // if only wrappers were cached, the original tag can be reused when none of them changed
+        boolean changed = this.dirty || this.tag == null;
+        int i = 0;
         for (var entry : this.map.entrySet()) {
-            builder.put(entry.getKey(), switch (entry.getValue()) {
-                case BinaryTag t -> t;
-                case NBTListType l -> l.getTag();
-                case NBTMapType m -> m.getTag();
-                default -> throw new IllegalStateException("Unrecognized type " + entry.getValue());
-            });
+            final BinaryTag tag = NBTListType.toTag(entry.getValue());
+            tags[i++] = tag;
+            if (!changed) {
+                changed = tag != this.tag.get(entry.getKey());
+            }
+        }
+
+        if (!changed) {
+            return this.tag;
+        }
+
+        CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+        i = 0;
+        for (var key : this.map.keySet()) {
+            builder.put(key, tags[i++]);
         }
         return builder.build();
     }
 
     @Override
     public MapType<String> copy() {
-        return new NBTMapType(this.map);
+        if (this.map == null) {
+            return new NBTMapType(this.tag);
+        }
+        return new NBTMapType(this.tag, copyEntries(this.map), this.dirty);
     }
 
     @Override
     public boolean hasKey(final String key) {
-        return this.map.get(key) != null;
+        return this.getEntry(key) != null;
     }
 
     @Override
     public boolean hasKey(final String key, final ObjectType type) {
-        final Object tag = this.map.get(key);
+        final Object tag = this.getEntry(key);
         if (tag == null) {
             return false;
         }
 
-        if (tag instanceof BinaryTag t) {
-            final ObjectType valueType = NBTListType.getType(t.type().id());
-            return valueType == type || (type == ObjectType.NUMBER && valueType.isNumber());
-        } else if (tag instanceof NBTListType) {
-            return type == ObjectType.LIST;
-        } else if (tag instanceof NBTMapType) {
-            return type == ObjectType.MAP;
+        final ObjectType valueType = NBTListType.getType(tag);
+        return valueType == type || (type == ObjectType.NUMBER && valueType.isNumber());
+    }
+
+    @Override
+    public void remove(final String key) {
+        if (this.getEntry(key) != null) {
+            this.mutate().remove(key);
+        }
+    }
+
+    // moves the stored entry, which keeps tags, lazily decoded entries and cached wrappers as they are
+    @Override
+    public boolean transferTo(final MapType<String> dst, final String key, final String dstKey) {
+        if (!(dst instanceof NBTMapType nbt)) {
+            return MapType.super.transferTo(dst, key, dstKey);
+        }
+
+        final Object entry = this.getEntry(key);
+        if (entry == null) {
+            return false;
+        }
+
+        this.mutate().remove(key);
+        if (entry instanceof NBTMapType child && child.owner == this) {
+            // moved rather than shared
+            child.owner = null;
         }
+        nbt.mutate().put(dstKey, entry);
+        nbt.adopt(entry);
 
-        return false;
+        return true;
     }
 
     @Override
-    public void remove(final String key) {
-        this.map.remove(key);
+    public void renameKeys(final Function<String, String> renamer) {
+        List<String> newKeys = null;
+        List<Object> newEntries = null;
+
+        for (final String key : new ArrayList<>(this.keys())) {
+            final String renamed = renamer.apply(key);
+            if (renamed == null) {
+                continue;
+            }
+
+            if (newKeys == null) {
+                newKeys = new ArrayList<>();
+                newEntries = new ArrayList<>();
+            }
+
+            newKeys.add(renamed);
+            newEntries.add(this.mutate().remove(key));
+        }
+
+        if (newKeys == null) {
+            return;
+        }
+
+        final Map<String, Object> map = this.mutate();
+        for (int i = 0, len = newKeys.size(); i < len; ++i) {
+            map.put(newKeys.get(i), newEntries.get(i));
+        }
     }
 
     @Override
     public Object getGeneric(final String key) {
-        final Object tag = this.map.get(key);
+        final Object tag = this.get(key);
         if (tag == null) {
             return null;
         }
@@ -145,7 +378,7 @@ public final class NBTMapType implements MapType<String> {
                 case LONG:
                 case FLOAT:
                 case DOUBLE:
-                    return numberValue((NumberBinaryTag) tag);
+                    return NBTListType.numberValue(tag);
                 case MAP:
                     return new NBTMapType((CompoundBinaryTag) tag);
                 case LIST:
@@ -160,10 +393,16 @@ public final class NBTMapType implements MapType<String> {
                 case LONG_ARRAY:
                     return ((LongArrayBinaryTag) tag).value();
             }
-        } else if (tag instanceof NBTListType l) {
-            return l;
-        } else if (tag instanceof NBTMapType m) {
-            return m;
+        } else if (tag instanceof Number || tag instanceof NBTListType || tag instanceof NBTMapType) {
+            return tag;
+        } else if (tag instanceof byte[] bytes) {
+            return bytes.clone();
+        } else if (tag instanceof int[] ints) {
+            return ints.clone();
+        } else if (tag instanceof long[] longs) {
+            return longs.clone();
+        } else if (tag instanceof PackedValues packed) {
+            return packed.pack().clone();
         }
 
         throw new IllegalStateException("Unrecognized type " + tag);
@@ -176,11 +415,8 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public Number getNumber(final String key, final Number dfl) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return numberValue((NumberBinaryTag) tag);
-        }
-        return dfl;
+        final Number ret = NBTListType.numberValue(this.get(key));
+        return ret == null ? dfl : ret;
     }
 
     @Override
@@ -200,140 +436,140 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public byte getByte(final String key) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return ((NumberBinaryTag) tag).byteValue();
-        }
-        return 0;
+        return switch (this.get(key)) {
+            case NumberBinaryTag tag -> tag.byteValue();
+            case Number number -> number.byteValue();
+            case null, default -> 0;
+        };
     }
 
     @Override
     public byte getByte(final String key, final byte dfl) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return ((NumberBinaryTag) tag).byteValue();
-        }
-        return dfl;
+        return switch (this.get(key)) {
+            case NumberBinaryTag tag -> tag.byteValue();
+            case Number number -> number.byteValue();
+            case null, default -> dfl;
+        };
     }
 
     @Override
     public void setByte(final String key, final byte val) {
-        this.map.put(key, ByteBinaryTag.byteBinaryTag(val));
+        this.mutate().put(key, Byte.valueOf(val));
     }
 
     @Override
     public short getShort(final String key) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return ((NumberBinaryTag) tag).shortValue();
-        }
-        return 0;
+        return switch (this.get(key)) {
+            case NumberBinaryTag tag -> tag.shortValue();
+            case Number number -> number.shortValue();
+            case null, default -> 0;
+        };
     }
 
     @Override
     public short getShort(final String key, final short dfl) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return ((NumberBinaryTag) tag).shortValue();
-        }
-        return dfl;
+        return switch (this.get(key)) {
+            case NumberBinaryTag tag -> tag.shortValue();
+            case Number number -> number.shortValue();
+            case null, default -> dfl;
+        };
     }
 
     @Override
     public void setShort(final String key, final short val) {
-        this.map.put(key, ShortBinaryTag.shortBinaryTag(val));
+        this.mutate().put(key, Short.valueOf(val));
     }
 
     @Override
     public int getInt(final String key) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return ((NumberBinaryTag) tag).intValue();
-        }
-        return 0;
+        return switch (this.get(key)) {
+            case NumberBinaryTag tag -> tag.intValue();
+            case Number number -> number.intValue();
+            case null, default -> 0;
+        };
     }
 
     @Override
     public int getInt(final String key, final int dfl) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return ((NumberBinaryTag) tag).intValue();
-        }
-        return dfl;
+        return switch (this.get(key)) {
+            case NumberBinaryTag tag -> tag.intValue();
+            case Number number -> number.intValue();
+            case null, default -> dfl;
+        };
     }
 
     @Override
     public void setInt(final String key, final int val) {
-        this.map.put(key, IntBinaryTag.intBinaryTag(val));
+        this.mutate().put(key, Integer.valueOf(val));
     }
 
     @Override
     public long getLong(final String key) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return ((NumberBinaryTag) tag).longValue();
-        }
-        return 0;
+        return switch (this.get(key)) {
+            case NumberBinaryTag tag -> tag.longValue();
+            case Number number -> number.longValue();
+            case null, default -> 0;
+        };
     }
 
     @Override
     public long getLong(final String key, final long dfl) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return ((NumberBinaryTag) tag).longValue();
-        }
-        return dfl;
+        return switch (this.get(key)) {
+            case NumberBinaryTag tag -> tag.longValue();
+            case Number number -> number.longValue();
+            case null, default -> dfl;
+        };
     }
 
     @Override
     public void setLong(final String key, final long val) {
-        this.map.put(key, LongBinaryTag.longBinaryTag(val));
+        this.mutate().put(key, Long.valueOf(val));
     }
 
     @Override
     public float getFloat(final String key) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return ((NumberBinaryTag) tag).floatValue();
-        }
-        return 0;
+        return switch (this.get(key)) {
+            case NumberBinaryTag tag -> tag.floatValue();
+            case Number number -> number.floatValue();
+            case null, default -> 0;
+        };
     }
 
     @Override
     public float getFloat(final String key, final float dfl) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return ((NumberBinaryTag) tag).floatValue();
-        }
-        return dfl;
+        return switch (this.get(key)) {
+            case NumberBinaryTag tag -> tag.floatValue();
+            case Number number -> number.floatValue();
+            case null, default -> dfl;
+        };
     }
 
     @Override
     public void setFloat(final String key, final float val) {
-        this.map.put(key, FloatBinaryTag.floatBinaryTag(val));
+        this.mutate().put(key, Float.valueOf(val));
     }
 
     @Override
     public double getDouble(final String key) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return ((NumberBinaryTag) tag).doubleValue();
-        }
-        return 0;
+        return switch (this.get(key)) {
+            case NumberBinaryTag tag -> tag.doubleValue();
+            case Number number -> number.doubleValue();
+            case null, default -> 0;
+        };
     }
 
     @Override
     public double getDouble(final String key, final double dfl) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof NumberBinaryTag) {
-            return ((NumberBinaryTag) tag).doubleValue();
-        }
-        return dfl;
+        return switch (this.get(key)) {
+            case NumberBinaryTag tag -> tag.doubleValue();
+            case Number number -> number.doubleValue();
+            case null, default -> dfl;
+        };
     }
 
     @Override
     public void setDouble(final String key, final double val) {
-        this.map.put(key, DoubleBinaryTag.doubleBinaryTag(val));
+        this.mutate().put(key, Double.valueOf(val));
     }
 
     @Override
@@ -343,16 +579,31 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public byte[] getBytes(final String key, final byte[] dfl) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof ByteArrayBinaryTag) {
-            return ((ByteArrayBinaryTag) tag).value();
-        }
-        return dfl;
+        return switch (this.get(key)) {
+            case ByteArrayBinaryTag tag -> tag.value();
+            case byte[] bytes -> bytes.clone();
+            case null, default -> dfl;
+        };
     }
 
     @Override
     public void setBytes(final String key, final byte[] val) {
-        this.map.put(key, ByteArrayBinaryTag.byteArrayBinaryTag(val));
+        this.mutate().put(key, ByteArrayBinaryTag.byteArrayBinaryTag(val));
+    }
+
+    @Override
+    public byte[] borrowBytes(final String key) {
+        return switch (this.get(key)) {
+            case byte[] bytes -> bytes;
+            // the tag only hands out copies
+            case ByteArrayBinaryTag tag -> tag.value();
+            case null, default -> null;
+        };
+    }
+
+    @Override
+    public void adoptBytes(final String key, final byte[] val) {
+        this.mutate().put(key, val);
     }
 
     @Override
@@ -378,16 +629,31 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public int[] getInts(final String key, final int[] dfl) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof IntArrayBinaryTag) {
-            return ((IntArrayBinaryTag) tag).value();
-        }
-        return dfl;
+        return switch (this.get(key)) {
+            case IntArrayBinaryTag tag -> tag.value();
+            case int[] ints -> ints.clone();
+            case null, default -> dfl;
+        };
     }
 
     @Override
     public void setInts(final String key, final int[] val) {
-        this.map.put(key, IntArrayBinaryTag.intArrayBinaryTag(val));
+        this.mutate().put(key, IntArrayBinaryTag.intArrayBinaryTag(val));
+    }
+
+    @Override
+    public int[] borrowInts(final String key) {
+        return switch (this.get(key)) {
+            case int[] ints -> ints;
+            // the tag only hands out copies
+            case IntArrayBinaryTag tag -> tag.value();
+            case null, default -> null;
+        };
+    }
+
+    @Override
+    public void adoptInts(final String key, final int[] val) {
+        this.mutate().put(key, val);
     }
 
     @Override
@@ -397,16 +663,56 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public long[] getLongs(final String key, final long[] dfl) {
-        final Object tag = this.map.get(key);
-        if (tag instanceof LongArrayBinaryTag) {
-            return ((LongArrayBinaryTag) tag).value();
-        }
-        return dfl;
+        return switch (this.get(key)) {
+            case LongArrayBinaryTag tag -> tag.value();
+            case long[] longs -> longs.clone();
+            case PackedValues packed -> packed.pack().clone();
+            case null, default -> dfl;
+        };
     }
 
     @Override
     public void setLongs(final String key, final long[] val) {
-        this.map.put(key, LongArrayBinaryTag.longArrayBinaryTag(val));
+        this.mutate().put(key, LongArrayBinaryTag.longArrayBinaryTag(val));
+    }
+
+    @Override
+    public long[] borrowLongs(final String key) {
+        return switch (this.get(key)) {
+            case long[] longs -> longs;
+            case PackedValues packed -> packed.pack();
+            // the tag only hands out copies
+            case LongArrayBinaryTag tag -> tag.value();
+            case null, default -> null;
+        };
+    }
+
+    @Override
+    public void adoptLongs(final String key, final long[] val) {
+        this.mutate().put(key, val);
+    }
+
+    @Override
+    public int[] borrowPacked(final String key, final int size, final int bits, final boolean padded) {
+        final Object entry = this.get(key);
+        if (entry instanceof PackedValues packed) {
+            final int[] ret = packed.getValues(size, bits, padded);
+            if (ret != null) {
+                return ret;
+            }
+        }
+
+        final int[] ret = MapType.super.borrowPacked(key, size, bits, padded);
+        if (ret != null && !this.readOnly && (entry instanceof long[] || entry instanceof LongArrayBinaryTag)) {
+            // keep the values for the next reader. the entry still packs to the original array, so this is not a write
+            this.materialize().put(key, new PackedValues(ret, size, bits, padded, entry));
+        }
+        return ret;
+    }
+
+    @Override
+    public void adoptPacked(final String key, final int[] values, final int size, final int bits, final boolean padded) {
+        this.mutate().put(key, new PackedValues(values, size, bits, padded, null));
     }
 
     @Override
@@ -416,12 +722,15 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public ListType getListUnchecked(final String key, final ListType dfl) {
-        final Object tag = this.map.get(key);
+        final Object tag = this.get(key);
         if (tag instanceof NBTListType l)
             return l;
         if (tag instanceof ListBinaryTag) {
+            if (this.readOnly) {
+                return NBTListType.readOnly((ListBinaryTag) tag);
+            }
             var map = new NBTListType((ListBinaryTag) tag);
-            this.map.put(key, map);
+            this.materialize().put(key, map);
             return map;
         }
         return dfl;
@@ -429,7 +738,7 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public void setList(final String key, final ListType val) {
-        this.map.put(key, val);
+        this.mutate().put(key, NBTListType.toEntry(val));
     }
 
     @Override
@@ -439,12 +748,16 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public MapType<String> getMap(final String key, final MapType dfl) {
-        final Object tag = this.map.get(key);
+        final Object tag = this.get(key);
         if (tag instanceof NBTMapType m)
             return m;
         if (tag instanceof CompoundBinaryTag) {
+            if (this.readOnly) {
+                return readOnly((CompoundBinaryTag) tag);
+            }
             var map = new NBTMapType((CompoundBinaryTag) tag);
-            this.map.put(key, map);
+            map.owner = this;
+            this.materialize().put(key, map);
             return map;
         }
         return dfl;
@@ -452,7 +765,9 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public void setMap(final String key, final MapType<?> val) {
-        this.map.put(key, val);
+        final Object entry = toEntry(val);
+        this.mutate().put(key, entry);
+        this.adopt(entry);
     }
 
     @Override
@@ -462,7 +777,7 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public String getString(final String key, final String dfl) {
-        final Object tag = this.map.get(key);
+        final Object tag = this.get(key);
         if (tag instanceof StringBinaryTag) {
             return ((StringBinaryTag) tag).value();
         }
@@ -476,7 +791,7 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public String getForcedString(final String key, final String dfl) {
-        final Object tag = this.map.get(key);
+        final Object tag = this.get(key);
         if (tag != null) {
             return ((StringBinaryTag) tag).value();
         }
@@ -485,18 +800,6 @@ public final class NBTMapType implements MapType<String> {
 
     @Override
     public void setString(final String key, final String val) {
-        this.map.put(key, StringBinaryTag.stringBinaryTag(val));
-    }
-
-    private Number numberValue(@NotNull NumberBinaryTag tag) {
-        return switch (tag) {
-            case ByteBinaryTag byteTag -> byteTag.value();
-            case ShortBinaryTag shortTag -> shortTag.value();
-            case IntBinaryTag intTag -> intTag.value();
-            case LongBinaryTag longTag -> longTag.value();
-            case FloatBinaryTag floatTag -> floatTag.value();
-            case DoubleBinaryTag doubleTag -> doubleTag.value();
-            default -> throw new IllegalStateException("Unrecognized type " + tag);
-        };
+        this.mutate().put(key, StringBinaryTag.stringBinaryTag(StringPool.intern(val)));
     }
 }
@@ -0,0 +1,57 @@
+package ca.spottedleaf.dataconverter.types.nbt;
+
+import ca.spottedleaf.dataconverter.util.BitStorage;
+import net.kyori.adventure.nbt.LongArrayBinaryTag;
+
+/**
+ * Long array entry which is kept unpacked, so that converters reading the values back in the same layout do not unpack
+ * them again. The long array is only packed when it is read as such, or when the tag is built or written.
+ * <p>
+ * Neither array may be modified once stored, as copies of the map share the entry.
+ * </p>
+ */
+final class PackedValues {
+
+    private final int[] values;
+    private final int size;
+    private final int bits;
+    private final boolean padded;
+    // the packed values, or the entry the values were unpacked from. null until packed
+    private Object packed;
+
+    PackedValues(final int[] values, final int size, final int bits, final boolean padded, final Object packed) {
+        this.values = values;
+        this.size = size;
+        this.bits = bits;
+        this.padded = padded;
+        this.packed = packed;
+    }
+
+    // returns null if the values are stored in another layout
+    int[] getValues(final int size, final int bits, final boolean padded) {
+        return this.size == size && this.bits == bits && this.padded == padded ? this.values : null;
+    }
+
+    long[] pack() {
+        final Object packed = this.packed;
+        if (packed instanceof long[] longs) {
+            return longs;
+        }
+        if (packed instanceof LongArrayBinaryTag tag) {
+            // the tag only hands out copies
+            return tag.value();
+        }
+
+        final long[] ret = this.padded ? BitStorage.packPadded(this.values, this.size, this.bits)
+                : BitStorage.packUnpadded(this.values, this.size, this.bits);
+        this.packed = ret;
+        return ret;
+    }
+
+    LongArrayBinaryTag toTag() {
+        if (this.packed instanceof LongArrayBinaryTag tag) {
+            return tag;
+        }
+        return LongArrayBinaryTag.longArrayBinaryTag(this.pack());
+    }
+}
@@ -0,0 +1,178 @@
+package ca.spottedleaf.dataconverter.util;
+
+/**
+ * Packs and unpacks arrays of small values stored in {@code long[]}, such as chunk section block states, palette
+ * indices and heightmaps. Values are at most 32 bits.
+ * <p>
+ * Chunks before 1.16 (20w17a) use the unpadded layout, where values are packed back to back, so one value may span
+ * two longs. Later versions use the padded layout, where each long holds {@code 64 / bits} values, and the remaining
+ * high bits are unused.
+ * </p>
+ */
+public final class BitStorage {
+
+    // the values per long in the padded layout, and the magic values to divide an index by them, indexed by bits
+    private static final int[] VALUES_PER_LONG = new int[33];
+    private static final long[] DIVISORS = new long[33];
+    static {
+        for (int bits = 1; bits <= 32; ++bits) {
+            final int valuesPerLong = 64 / bits;
+            VALUES_PER_LONG[bits] = valuesPerLong;
+            // the division by 1 is special cased
+            DIVISORS[bits] = valuesPerLong == 1 ? 0L : IntegerUtil.getDivisorNumbers(valuesPerLong);
+        }
+    }
+
+    private static void checkBits(final int bits) {
+        if (bits < 1 || bits > 32) {
+            throw new IllegalArgumentException("Bits must be in [1, 32], not: " + bits);
+        }
+    }
+
+    public static int getUnpaddedLength(final int size, final int bits) {
+        return (int)(((long)size * bits + 63L) >>> 6);
+    }
+
+    public static int getPaddedLength(final int size, final int bits) {
+        final int valuesPerLong = 64 / bits;
+        return (size + valuesPerLong - 1) / valuesPerLong;
+    }
+
+    /**
+     * Unpacks {@code size} values in the unpadded layout into the specified array, which is allocated if null.
+     * Values past the end of the data are read as 0.
+     */
+    public static int[] unpackUnpadded(final long[] data, final int size, final int bits, int[] into) {
+        checkBits(bits);
+        if (into == null) {
+            into = new int[size];
+        }
+
+        final long mask = (1L << bits) - 1L;
+        final int dataLength = data.length;
+
+        int word = 0;
+        int offset = 0;
+        long curr = dataLength == 0 ? 0L : data[0];
+        for (int i = 0; i < size; ++i) {
+            long value = curr >>> offset;
+            offset += bits;
+            if (offset >= 64) {
+                offset -= 64;
+                curr = ++word < dataLength ? data[word] : 0L;
+                if (offset != 0) {
+                    // value spans into the next long
+                    value |= curr << (bits - offset);
+                }
+            }
+            into[i] = (int)(value & mask);
+        }
+
+        return into;
+    }
+
+    /**
+     * Packs the first {@code size} values of the specified array in the unpadded layout. The values must fit in
+     * the specified bits.
+     */
+    public static long[] packUnpadded(final int[] values, final int size, final int bits) {
+        checkBits(bits);
+        final long[] ret = new long[getUnpaddedLength(size, bits)];
+
+        int word = 0;
+        int offset = 0;
+        long curr = 0L;
+        for (int i = 0; i < size; ++i) {
+            final long value = (long)values[i] & 0xFFFFFFFFL;
+            curr |= value << offset;
+            offset += bits;
+            if (offset >= 64) {
+                ret[word++] = curr;
+                offset -= 64;
+                // the high bits of a value spanning into the next long
+                curr = offset == 0 ? 0L : value >>> (bits - offset);
+            }
+        }
+
+        if (offset != 0) {
+            ret[word] = curr;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Unpacks {@code size} values in the padded layout into the specified array, which is allocated if null.
+     * Values past the end of the data are read as 0.
+     */
+    public static int[] unpackPadded(final long[] data, final int size, final int bits, int[] into) {
+        checkBits(bits);
+        if (into == null) {
+            into = new int[size];
+        }
+
+        final long mask = (1L << bits) - 1L;
+        final int valuesPerLong = 64 / bits;
+
+        int i = 0;
+        for (int word = 0, len = Math.min(data.length, getPaddedLength(size, bits)); word < len; ++word) {
+            long curr = data[word];
+            for (int k = 0, max = Math.min(valuesPerLong, size - i); k < max; ++k) {
+                into[i++] = (int)(curr & mask);
+                curr >>>= bits;
+            }
+        }
+
+        for (; i < size; ++i) {
+            into[i] = 0;
+        }
+
+        return into;
+    }
+
+    /**
+     * Packs the first {@code size} values of the specified array in the padded layout. The values must fit in the
+     * specified bits.
+     */
+    public static long[] packPadded(final int[] values, final int size, final int bits) {
+        checkBits(bits);
+        final long[] ret = new long[getPaddedLength(size, bits)];
+        final int valuesPerLong = 64 / bits;
+
+        int i = 0;
+        for (int word = 0; word < ret.length; ++word) {
+            long curr = 0L;
+            for (int k = 0, shift = 0, max = Math.min(valuesPerLong, size - i); k < max; ++k, shift += bits) {
+                curr |= ((long)values[i++] & 0xFFFFFFFFL) << shift;
+            }
+            ret[word] = curr;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Returns the value at the specified index in the padded layout, or {@code -1} if the index is outside the data.
+     */
+    public static int getPadded(final long[] data, final int bits, final int index) {
+        if (index < 0) {
+            return -1;
+        }
+
+        final long divisor = DIVISORS[bits];
+        final int word;
+        if (divisor == 0L) {
+            word = index;
+        } else {
+            word = (int)(((long)index * ((long)IntegerUtil.getDivisorMultiple(divisor) & 0xFFFFFFFFL)) >>> IntegerUtil.getDivisorShift(divisor));
+        }
+        if (word >= data.length) {
+            return -1;
+        }
+
+        final int offset = (index - word * VALUES_PER_LONG[bits]) * bits;
+        return (int)((data[word] >>> offset) & ((1L << bits) - 1L));
+    }
+
+    private BitStorage() {}
+}
@@ -2,6 +2,7 @@ package ca.spottedleaf.dataconverter.util;
 
 import java.util.Arrays;
 import java.util.function.LongFunction;
+import java.util.function.UnaryOperator;
 
 public class Long2ObjectArraySortedMap<V> {
 
@@ -24,8 +25,9 @@ public class Long2ObjectArraySortedMap<V> {
         final int insert = -(index + 1);
         // shift entries down
         if (this.size >= this.val.length) {
-            this.key = Arrays.copyOf(this.key, this.key.length * 2);
-            this.val = Arrays.copyOf(this.val, this.val.length * 2);
+            final int newCapacity = Math.max(8, this.key.length * 2);
+            this.key = Arrays.copyOf(this.key, newCapacity);
+            this.val = Arrays.copyOf(this.val, newCapacity);
         }
         System.arraycopy(this.key, insert, this.key, insert + 1, this.size - insert);
         System.arraycopy(this.val, insert, this.val, insert + 1, this.size - insert);
@@ -45,8 +47,9 @@ public class Long2ObjectArraySortedMap<V> {
         final int insert = -(index + 1);
         // shift entries down
         if (this.size >= this.val.length) {
-            this.key = Arrays.copyOf(this.key, this.key.length * 2);
-            this.val = Arrays.copyOf(this.val, this.val.length * 2);
+            final int newCapacity = Math.max(8, this.key.length * 2);
+            this.key = Arrays.copyOf(this.key, newCapacity);
+            this.val = Arrays.copyOf(this.val, newCapacity);
         }
         System.arraycopy(this.key, insert, this.key, insert + 1, this.size - insert);
         System.arraycopy(this.val, insert, this.val, insert + 1, this.size - insert);
@@ -73,4 +76,25 @@ public class Long2ObjectArraySortedMap<V> {
         }
         return this.val[index];
     }
+
+    // returns the greatest key less than or equal to the specified key, or Long.MIN_VALUE if there is none
+    public long getFloorKey(final long key) {
+        final int index = Arrays.binarySearch(this.key, 0, this.size, key);
+        if (index < 0) {
+            final int insert = -(index + 1) - 1;
+            return insert < 0 ? Long.MIN_VALUE : this.key[insert];
+        }
+        return this.key[index];
+    }
+
+    public void replaceAll(final UnaryOperator<V> operator) {
+        for (int i = 0; i < this.size; ++i) {
+            this.val[i] = operator.apply(this.val[i]);
+        }
+    }
+
+    public void trimToSize() {
+        this.key = Arrays.copyOf(this.key, this.size);
+        this.val = Arrays.copyOf(this.val, this.size);
+    }
 }
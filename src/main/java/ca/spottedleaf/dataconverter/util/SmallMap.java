@@ -0,0 +1,285 @@
+package ca.spottedleaf.dataconverter.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Map which stores up to {@link #MAX_ARRAY_SIZE} entries in insertion ordered arrays, and switches to a
+ * {@link HashMap} once it grows past that. Most NBT compounds have only a few keys, for which a scan of the key hashes
+ * is faster than a hash lookup and the arrays are much smaller than the table and nodes of a hash map.
+ */
+public final class SmallMap<K, V> extends AbstractMap<K, V> {
+
+    public static final int MAX_ARRAY_SIZE = 8;
+
+    private static final Object[] EMPTY = new Object[0];
+    private static final int[] EMPTY_HASHES = new int[0];
+
+    private Object[] keys;
+    private Object[] values;
+    // cached key hashes, compared before the keys
+    private int[] hashes;
+    private int size;
+    // non-null once the map switched to the hash layout, which it then keeps
+    private HashMap<K, V> hash;
+
+    private Set<Map.Entry<K, V>> entrySet;
+
+    public SmallMap() {
+        this.keys = EMPTY;
+        this.values = EMPTY;
+        this.hashes = EMPTY_HASHES;
+    }
+
+    public SmallMap(final int expectedSize) {
+        if (expectedSize > MAX_ARRAY_SIZE) {
+            this.hash = new HashMap<>(expectedSize);
+            return;
+        }
+        this.keys = new Object[expectedSize];
+        this.values = new Object[expectedSize];
+        this.hashes = new int[expectedSize];
+    }
+
+    private int indexOf(final Object key) {
+        final int hash = Objects.hashCode(key);
+        final int[] hashes = this.hashes;
+        final Object[] keys = this.keys;
+        for (int i = 0, len = this.size; i < len; ++i) {
+            // interned keys, such as the names of key handles, match by identity
+            final Object other = keys[i];
+            if (other == key || (hashes[i] == hash && Objects.equals(other, key))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return this.hash == null ? this.size : this.hash.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.hash == null ? this.indexOf(key) >= 0 : this.hash.containsKey(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+        if (this.hash != null) {
+            return this.hash.get(key);
+        }
+        final int index = this.indexOf(key);
+        return index < 0 ? null : (V)this.values[index];
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        if (this.hash != null) {
+            return this.hash.put(key, value);
+        }
+
+        final int index = this.indexOf(key);
+        if (index >= 0) {
+            final V current = (V)this.values[index];
+            this.values[index] = value;
+            return current;
+        }
+
+        if (this.size == MAX_ARRAY_SIZE) {
+            this.toHashLayout().put(key, value);
+            return null;
+        }
+
+        if (this.size == this.keys.length) {
+            final int newCapacity = Math.min(MAX_ARRAY_SIZE, Math.max(4, this.size * 2));
+            this.keys = Arrays.copyOf(this.keys, newCapacity);
+            this.values = Arrays.copyOf(this.values, newCapacity);
+            this.hashes = Arrays.copyOf(this.hashes, newCapacity);
+        }
+
+        this.keys[this.size] = key;
+        this.values[this.size] = value;
+        this.hashes[this.size] = Objects.hashCode(key);
+        ++this.size;
+
+        return null;
+    }
+
+    private HashMap<K, V> toHashLayout() {
+        final HashMap<K, V> ret = new HashMap<>(MAX_ARRAY_SIZE * 2);
+        for (int i = 0; i < this.size; ++i) {
+            ret.put((K)this.keys[i], (V)this.values[i]);
+        }
+
+        this.keys = null;
+        this.values = null;
+        this.hashes = null;
+        this.size = 0;
+
+        return this.hash = ret;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        if (this.hash != null) {
+            return this.hash.remove(key);
+        }
+
+        final int index = this.indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+
+        final V ret = (V)this.values[index];
+        this.removeAt(index);
+
+        return ret;
+    }
+
+    private void removeAt(final int index) {
+        // keep the insertion order
+        final int move = this.size - index - 1;
+        System.arraycopy(this.keys, index + 1, this.keys, index, move);
+        System.arraycopy(this.values, index + 1, this.values, index, move);
+        System.arraycopy(this.hashes, index + 1, this.hashes, index, move);
+        --this.size;
+        this.keys[this.size] = null;
+        this.values[this.size] = null;
+    }
+
+    @Override
+    public void clear() {
+        this.hash = null;
+        this.keys = EMPTY;
+        this.values = EMPTY;
+        this.hashes = EMPTY_HASHES;
+        this.size = 0;
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        if (this.hash != null) {
+            this.hash.forEach(action);
+            return;
+        }
+        for (int i = 0; i < this.size; ++i) {
+            action.accept((K)this.keys[i], (V)this.values[i]);
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> ret = this.entrySet;
+        if (ret == null) {
+            this.entrySet = ret = new EntrySet();
+        }
+        return ret;
+    }
+
+    // the layout may change while the view is held, so every operation checks it
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            final HashMap<K, V> hash = SmallMap.this.hash;
+            return hash == null ? new ArrayIterator() : hash.entrySet().iterator();
+        }
+
+        @Override
+        public int size() {
+            return SmallMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            SmallMap.this.clear();
+        }
+    }
+
+    private final class ArrayIterator implements Iterator<Map.Entry<K, V>> {
+
+        private int next;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return this.next < SmallMap.this.size;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (this.next >= SmallMap.this.size) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.next++;
+            return new ArrayEntry(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            }
+            SmallMap.this.removeAt(this.last);
+            this.next = this.last;
+            this.last = -1;
+        }
+    }
+
+    private final class ArrayEntry implements Map.Entry<K, V> {
+
+        private final int index;
+
+        private ArrayEntry(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public K getKey() {
+            return (K)SmallMap.this.keys[this.index];
+        }
+
+        @Override
+        public V getValue() {
+            return (V)SmallMap.this.values[this.index];
+        }
+
+        @Override
+        public V setValue(final V value) {
+            final V ret = (V)SmallMap.this.values[this.index];
+            SmallMap.this.values[this.index] = value;
+            return ret;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Map.Entry<?, ?> other && Objects.equals(this.getKey(), other.getKey())
+                    && Objects.equals(this.getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.getKey()) ^ Objects.hashCode(this.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+    }
+}
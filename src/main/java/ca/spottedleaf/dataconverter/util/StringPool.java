@@ -0,0 +1,71 @@
+package ca.spottedleaf.dataconverter.util;
+
+import ca.spottedleaf.dataconverter.types.MapKey;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional pool which the NBT reader and the string setters of the maps pass keys and values through, so that
+ * converted documents share one instance per distinct string rather than holding many duplicates. Strings which have a
+ * {@link MapKey} handle are pooled as the canonical name of the handle.
+ * <p>
+ * The pool is disabled by default. Once it holds the maximum number of entries it stops growing, and only strings
+ * already in the pool are shared.
+ * </p>
+ */
+public final class StringPool {
+
+    // null unless the pool is enabled
+    private static volatile StringPool pool;
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, String> strings = new ConcurrentHashMap<>();
+
+    private StringPool(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public static void enable(final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive: " + maxEntries);
+        }
+        pool = new StringPool(maxEntries);
+    }
+
+    public static void disable() {
+        pool = null;
+    }
+
+    /**
+     * Returns the number of strings in the pool, or {@code -1} if it is disabled.
+     */
+    public static int size() {
+        final StringPool pool = StringPool.pool;
+        return pool == null ? -1 : pool.strings.size();
+    }
+
+    /**
+     * Returns the pooled instance equal to the specified string, or the string itself if the pool is disabled or full.
+     */
+    public static String intern(final String string) {
+        final StringPool pool = StringPool.pool;
+        if (pool == null || string == null) {
+            return string;
+        }
+
+        final ConcurrentHashMap<String, String> strings = pool.strings;
+
+        final String ret = strings.get(string);
+        if (ret != null) {
+            return ret;
+        }
+
+        final String canonical = MapKey.getCanonicalName(string);
+        final String value = canonical == null ? string : canonical;
+        if (strings.size() >= pool.maxEntries) {
+            return value;
+        }
+
+        final String prev = strings.putIfAbsent(value, value);
+        return prev == null ? value : prev;
+    }
+}
@@ -0,0 +1,188 @@
+package ca.spottedleaf.dataconverter.minecraft;
+
+import ca.spottedleaf.dataconverter.minecraft.datatypes.MCTypeRegistry;
+import ca.spottedleaf.dataconverter.util.BitStorage;
+import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.nbt.ByteArrayBinaryTag;
+import net.kyori.adventure.nbt.ByteBinaryTag;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.IntBinaryTag;
+import net.kyori.adventure.nbt.ListBinaryTag;
+import net.kyori.adventure.nbt.LongArrayBinaryTag;
+import net.kyori.adventure.nbt.StringBinaryTag;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// converts a section in the pre-1.13 Blocks/Data layout through the flattening (V1451) and the leaves fix (V1496)
+class LegacyChunkConversionTest {
+
+    private static final int LEGACY_VERSION = 1343;
+
+    private static int index(final int x, final int y, final int z) {
+        return x | (z << 4) | (y << 8);
+    }
+
+    private static final class LegacySection {
+
+        private final int y;
+        private final byte[] blocks = new byte[4096];
+        private final byte[] data = new byte[2048];
+
+        private LegacySection(final int y) {
+            this.y = y;
+        }
+
+        private LegacySection set(final int x, final int y, final int z, final int id, final int meta) {
+            final int index = index(x, y, z);
+            this.blocks[index] = (byte)id;
+            this.data[index >>> 1] |= (byte)((index & 1) == 0 ? meta : meta << 4);
+            return this;
+        }
+
+        private CompoundBinaryTag toTag() {
+            return CompoundBinaryTag.builder()
+                    .put("Y", ByteBinaryTag.byteBinaryTag((byte)this.y))
+                    .put("Blocks", ByteArrayBinaryTag.byteArrayBinaryTag(this.blocks))
+                    .put("Data", ByteArrayBinaryTag.byteArrayBinaryTag(this.data))
+                    .build();
+        }
+    }
+
+    private static CompoundBinaryTag chunk(final LegacySection... sections) {
+        final ListBinaryTag.Builder<BinaryTag> list = ListBinaryTag.builder();
+        for (final LegacySection section : sections) {
+            list.add(section.toTag());
+        }
+
+        final CompoundBinaryTag level = CompoundBinaryTag.builder()
+                .put("xPos", IntBinaryTag.intBinaryTag(0))
+                .put("zPos", IntBinaryTag.intBinaryTag(0))
+                .put("Sections", list.build())
+                .build();
+
+        return CompoundBinaryTag.builder()
+                .put("Level", level)
+                .put("DataVersion", IntBinaryTag.intBinaryTag(LEGACY_VERSION))
+                .build();
+    }
+
+    // the block states of each section as the name followed by the sorted properties, such as oak_log[axis=y]
+    private static String[][] decode(final CompoundBinaryTag chunk) {
+        final ListBinaryTag sections = (ListBinaryTag)((CompoundBinaryTag)chunk.get("Level")).get("Sections");
+        final String[][] ret = new String[sections.size()][];
+
+        for (int i = 0; i < sections.size(); ++i) {
+            final CompoundBinaryTag section = (CompoundBinaryTag)sections.get(i);
+            final ListBinaryTag palette = (ListBinaryTag)section.get("Palette");
+            final long[] blockStates = ((LongArrayBinaryTag)section.get("BlockStates")).value();
+
+            // the layout before 1.16 is unpadded, with at least 4 bits
+            final int bits = Math.max(4, 32 - Integer.numberOfLeadingZeros(palette.size() - 1));
+            assertEquals(BitStorage.getUnpaddedLength(4096, bits), blockStates.length);
+
+            final int[] indices = BitStorage.unpackUnpadded(blockStates, 4096, bits, null);
+            final String[] blocks = new String[4096];
+            for (int k = 0; k < 4096; ++k) {
+                blocks[k] = toString((CompoundBinaryTag)palette.get(indices[k]));
+            }
+            ret[i] = blocks;
+        }
+
+        return ret;
+    }
+
+    private static String toString(final CompoundBinaryTag state) {
+        final String name = ((StringBinaryTag)state.get("Name")).value();
+        final CompoundBinaryTag properties = (CompoundBinaryTag)state.get("Properties");
+        if (properties == null) {
+            return name;
+        }
+
+        final Map<String, String> sorted = new TreeMap<>();
+        for (final String key : properties.keySet()) {
+            sorted.put(key, ((StringBinaryTag)properties.get(key)).value());
+        }
+        return name + sorted.toString().replace('{', '[').replace('}', ']').replace(", ", ",");
+    }
+
+    private static CompoundBinaryTag fixture() {
+        final LegacySection bottom = new LegacySection(0)
+                .set(0, 0, 0, 1, 0) // stone
+                .set(1, 0, 0, 1, 1) // granite
+                .set(2, 0, 0, 2, 0) // grass
+                .set(3, 0, 0, 35, 14) // red wool
+                .set(0, 4, 0, 17, 4) // oak log along x
+                .set(0, 8, 0, 18, 4) // oak leaves which do not decay
+                .set(5, 5, 5, 18, 0) // oak leaves away from any log
+                .set(3, 15, 3, 17, 0); // oak log below the next section
+
+        // a spruce log with spruce leaves on top, and a row of oak leaves leading away from it
+        for (int y = 0; y <= 3; ++y) {
+            bottom.set(8, y, 8, 17, 1);
+        }
+        bottom.set(8, 4, 8, 18, 1);
+        for (int x = 9; x < 16; ++x) {
+            bottom.set(x, 2, 8, 18, 0);
+        }
+
+        // the leaves above the log at the top of the section below
+        final LegacySection top = new LegacySection(1)
+                .set(3, 0, 3, 18, 2) // birch leaves
+                .set(3, 1, 3, 18, 2);
+
+        return chunk(bottom, top);
+    }
+
+    @Test
+    void flattening() {
+        final String[][] blocks = decode(MCDataConverter.convertTag(MCTypeRegistry.CHUNK, fixture(), LEGACY_VERSION, 1451));
+
+        assertEquals(2, blocks.length);
+        final String[] bottom = blocks[0];
+
+        assertEquals("minecraft:stone", bottom[index(0, 0, 0)]);
+        assertEquals("minecraft:granite", bottom[index(1, 0, 0)]);
+        assertEquals("minecraft:grass_block[snowy=false]", bottom[index(2, 0, 0)]);
+        assertEquals("minecraft:red_wool", bottom[index(3, 0, 0)]);
+        assertEquals("minecraft:oak_log[axis=x]", bottom[index(0, 4, 0)]);
+        assertEquals("minecraft:spruce_log[axis=y]", bottom[index(8, 0, 8)]);
+        assertEquals("minecraft:air", bottom[index(15, 15, 15)]);
+
+        // the leaves keep the properties of the flattening until V1496
+        assertEquals("minecraft:oak_leaves[check_decay=false,decayable=false]", bottom[index(0, 8, 0)]);
+        assertEquals("minecraft:oak_leaves[check_decay=false,decayable=true]", bottom[index(9, 2, 8)]);
+        assertEquals("minecraft:spruce_leaves[check_decay=false,decayable=true]", bottom[index(8, 4, 8)]);
+        assertEquals("minecraft:birch_leaves[check_decay=false,decayable=true]", blocks[1][index(3, 0, 3)]);
+    }
+
+    @Test
+    void leafDistances() {
+        final String[][] before = decode(MCDataConverter.convertTag(MCTypeRegistry.CHUNK, fixture(), LEGACY_VERSION, 1495));
+        final String[][] blocks = decode(MCDataConverter.convertTag(MCTypeRegistry.CHUNK, fixture(), LEGACY_VERSION, 1496));
+        final String[] bottom = blocks[0];
+
+        // the distance counts the steps from the nearest log, up to 7
+        assertEquals("minecraft:spruce_leaves[distance=1,persistent=false]", bottom[index(8, 4, 8)]);
+        for (int x = 9; x < 16; ++x) {
+            assertEquals("minecraft:oak_leaves[distance=" + (x - 8) + ",persistent=false]", bottom[index(x, 2, 8)], "x " + x);
+        }
+        assertEquals("minecraft:oak_leaves[distance=7,persistent=false]", bottom[index(5, 5, 5)]);
+        assertEquals("minecraft:oak_leaves[distance=7,persistent=true]", bottom[index(0, 8, 0)]);
+
+        // across the section boundary
+        assertEquals("minecraft:birch_leaves[distance=1,persistent=false]", blocks[1][index(3, 0, 3)]);
+        assertEquals("minecraft:birch_leaves[distance=2,persistent=false]", blocks[1][index(3, 1, 3)]);
+
+        // the other blocks are unchanged, although the palette grew past 16 entries and the bits per block with it
+        for (int i = 0; i < blocks.length; ++i) {
+            for (int k = 0; k < 4096; ++k) {
+                if (!before[i][k].contains("_leaves")) {
+                    assertEquals(before[i][k], blocks[i][k], "section " + i + ", index " + k);
+                }
+            }
+        }
+    }
+}
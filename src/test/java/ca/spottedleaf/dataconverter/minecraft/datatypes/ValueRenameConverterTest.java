@@ -0,0 +1,91 @@
+package ca.spottedleaf.dataconverter.minecraft.datatypes;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ValueRenameConverterTest {
+
+    @SafeVarargs
+    private static List<ValueRenameConverter> chain(final Map<String, String>... renames) {
+        final List<ValueRenameConverter> ret = new ArrayList<>();
+        for (int i = 0; i < renames.length; ++i) {
+            ret.add(new ValueRenameConverter(100 + i, 0, renames[i]));
+        }
+        return ret;
+    }
+
+    // the result of running the converters in order, as the value type does without composition
+    private static String convertInSequence(final List<ValueRenameConverter> converters, final String value) {
+        String ret = value;
+        for (final ValueRenameConverter converter : converters) {
+            final Object converted = converter.convert(ret, 0L, 0L);
+            if (converted != null) {
+                ret = (String) converted;
+            }
+        }
+        return ret;
+    }
+
+    private static void assertComposesInSequence(final List<ValueRenameConverter> converters) {
+        final ValueRenameConverter composed = ValueRenameConverter.compose(converters);
+
+        final Set<String> values = new HashSet<>(List.of("unknown"));
+        for (final ValueRenameConverter converter : converters) {
+            values.addAll(converter.getRenames().keySet());
+            values.addAll(converter.getRenames().values());
+        }
+
+        for (final String value : values) {
+            final Object converted = composed.convert(value, 0L, 0L);
+            assertEquals(convertInSequence(converters, value), converted == null ? value : converted, value);
+        }
+
+        final ValueRenameConverter last = converters.get(converters.size() - 1);
+        assertEquals(last.getEncodedVersion(), composed.getEncodedVersion());
+    }
+
+    @Test
+    void chainedRenames() {
+        // a -> b -> c, and b itself also becomes c
+        assertComposesInSequence(chain(Map.of("a", "b"), Map.of("b", "c")));
+    }
+
+    @Test
+    void renameBack() {
+        // a -> b -> a leaves a unchanged, while b present before the first rename still becomes a
+        final List<ValueRenameConverter> converters = chain(Map.of("a", "b"), Map.of("b", "a"));
+        assertComposesInSequence(converters);
+        assertNull(ValueRenameConverter.compose(converters).convert("a", 0L, 0L));
+    }
+
+    @Test
+    void swap() {
+        assertComposesInSequence(chain(Map.of("a", "b", "b", "a"), Map.of("a", "c")));
+    }
+
+    @Test
+    void renamedKeyIsNotRenamedAgainByLaterKey() {
+        // a is renamed by the first converter, so the second converter only sees b, never a
+        assertComposesInSequence(chain(Map.of("a", "b"), Map.of("a", "x", "b", "y")));
+    }
+
+    @Test
+    void longChains() {
+        assertComposesInSequence(chain(
+            Map.of("a", "b", "q", "r"), Map.of("b", "c", "r", "q"), Map.of("c", "d", "z", "a"), Map.of("d", "a", "q", "s")
+        ));
+    }
+
+    @Test
+    void ignoresNonStrings() {
+        final ValueRenameConverter composed = ValueRenameConverter.compose(chain(Map.of("a", "b"), Map.of("b", "c")));
+        assertNull(composed.convert(Integer.valueOf(1), 0L, 0L));
+    }
+}
@@ -0,0 +1,61 @@
+package ca.spottedleaf.dataconverter.minecraft.versions;
+
+import ca.spottedleaf.dataconverter.util.BitStorage;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class V2832Test {
+
+    private static int[] randomValues(final Random random, final int bits) {
+        final int[] ret = new int[4096];
+        for (int i = 0; i < ret.length; ++i) {
+            ret[i] = random.nextInt(1 << bits);
+        }
+        return ret;
+    }
+
+    @Test
+    void resize() {
+        final Random random = new Random(1L);
+        for (int from = 1; from <= 16; ++from) {
+            for (int to = 1; to <= 16; ++to) {
+                // values which fit in both sizes
+                final int[] values = randomValues(random, Math.min(from, to));
+                final long[] data = BitStorage.packPadded(values, values.length, from);
+
+                final long[] resized = V2832.resize(data, from, to);
+                assertArrayEquals(BitStorage.packPadded(values, values.length, to), resized, from + " -> " + to);
+                assertArrayEquals(values, BitStorage.unpackPadded(resized, values.length, to, null), from + " -> " + to);
+            }
+        }
+
+        final long[] data = BitStorage.packPadded(new int[4096], 4096, 5);
+        assertSame(data, V2832.resize(data, 5, 5));
+    }
+
+    @Test
+    void resizeRejectsNarrowing() {
+        for (int from = 2; from <= 16; ++from) {
+            for (int to = 1; to < from; ++to) {
+                final int[] values = new int[4096];
+                // a single value which does not fit in the new size
+                values[4000] = 1 << to;
+                final long[] data = BitStorage.packPadded(values, values.length, from);
+
+                final int oldBits = from;
+                final int newBits = to;
+                assertThrows(IllegalStateException.class, () -> V2832.resize(data, oldBits, newBits), from + " -> " + to);
+            }
+        }
+    }
+
+    @Test
+    void resizeRejectsLength() {
+        final long[] data = new long[BitStorage.getPaddedLength(4096, 5) + 1];
+        assertThrows(IllegalStateException.class, () -> V2832.resize(data, 5, 6));
+    }
+}
@@ -0,0 +1,314 @@
+package ca.spottedleaf.dataconverter.types.nbt;
+
+import ca.spottedleaf.dataconverter.types.ListType;
+import ca.spottedleaf.dataconverter.types.MapType;
+import ca.spottedleaf.dataconverter.types.Types;
+import ca.spottedleaf.dataconverter.types.json.JsonMapType;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NBTIOTest {
+
+    // NUL is written as C0 80 in modified UTF-8, and supplementary characters as two 3 byte surrogates
+    private static final String NUL = "a\0b";
+    private static final String SUPPLEMENTARY = "😀 𐀀";
+
+    private static MapType<String> allTypes() {
+        final MapType<String> ret = Types.NBT.createEmptyMap();
+
+        ret.setByte("byte", (byte)-7);
+        ret.setShort("short", (short)-1234);
+        ret.setInt("int", Integer.MIN_VALUE);
+        ret.setLong("long", Long.MAX_VALUE);
+        ret.setFloat("float", Float.NaN);
+        ret.setDouble("double", -0.0);
+        ret.setBytes("bytes", new byte[] { 0, 1, -1, Byte.MIN_VALUE });
+        ret.setString("string", "value");
+        ret.setString("empty_string", "");
+        ret.setInts("ints", new int[] { 0, -1, Integer.MAX_VALUE });
+        ret.setLongs("longs", new long[] { Long.MIN_VALUE, 1L });
+        ret.setBytes("empty_bytes", new byte[0]);
+        ret.setInts("empty_ints", new int[0]);
+        ret.setLongs("empty_longs", new long[0]);
+
+        ret.setString(NUL, NUL);
+        ret.setString(SUPPLEMENTARY, SUPPLEMENTARY);
+
+        ret.setList("empty_list", Types.NBT.createEmptyList());
+
+        final ListType strings = Types.NBT.createEmptyList();
+        strings.addString("first");
+        strings.addString(NUL);
+        strings.addString(SUPPLEMENTARY);
+        ret.setList("strings", strings);
+
+        final ListType doubles = Types.NBT.createEmptyList();
+        doubles.addDouble(1.5);
+        doubles.addDouble(Double.NEGATIVE_INFINITY);
+        ret.setList("doubles", doubles);
+
+        final ListType arrays = Types.NBT.createEmptyList();
+        arrays.addLongArray(new long[] { 3L, 4L });
+        arrays.addLongArray(new long[0]);
+        ret.setList("arrays", arrays);
+
+        final ListType lists = Types.NBT.createEmptyList();
+        final ListType inner = Types.NBT.createEmptyList();
+        inner.addInt(1);
+        inner.addInt(2);
+        lists.addList(inner);
+        lists.addList(Types.NBT.createEmptyList());
+        ret.setList("lists", lists);
+
+        final MapType<String> nested = Types.NBT.createEmptyMap();
+        nested.setString("name", "nested");
+        nested.setMap("empty", Types.NBT.createEmptyMap());
+        final ListType compounds = Types.NBT.createEmptyList();
+        final MapType<String> element = Types.NBT.createEmptyMap();
+        element.setShort("value", (short)3);
+        compounds.addMap(element);
+        compounds.addMap(Types.NBT.createEmptyMap());
+        nested.setList("compounds", compounds);
+        ret.setMap("nested", nested);
+
+        return ret;
+    }
+
+    private static byte[] write(final MapType<String> data, final NBTIO.Compression compression) throws IOException {
+        final ByteArrayOutputStream ret = new ByteArrayOutputStream();
+        NBTIO.write(ret, data, compression);
+        return ret.toByteArray();
+    }
+
+    private static void assertSameData(final MapType<String> expected, final MapType<String> actual) {
+        assertEquals(((NBTMapType)expected).getTag(), ((NBTMapType)actual).getTag());
+    }
+
+    private static int indexOf(final byte[] data, final byte[] find) {
+        outer:
+        for (int i = 0; i <= data.length - find.length; ++i) {
+            for (int k = 0; k < find.length; ++k) {
+                if (data[i + k] != find[k]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    // a root compound holding the given number of compounds nested in each other
+    private static byte[] nestedCompounds(final int count) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+
+        output.writeByte(10);
+        output.writeUTF("");
+        for (int i = 0; i < count; ++i) {
+            output.writeByte(10);
+            output.writeUTF("a");
+        }
+        for (int i = 0; i <= count; ++i) {
+            output.writeByte(0);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    // a root compound holding the given number of lists nested in each other
+    private static byte[] nestedLists(final int count) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+
+        output.writeByte(10);
+        output.writeUTF("");
+        output.writeByte(9);
+        output.writeUTF("a");
+        for (int i = 1; i < count; ++i) {
+            output.writeByte(9);
+            output.writeInt(1);
+        }
+        output.writeByte(0);
+        output.writeInt(0);
+        output.writeByte(0);
+
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void roundTripEveryTagType() throws IOException {
+        final MapType<String> data = allTypes();
+
+        for (final NBTIO.Compression compression : NBTIO.Compression.values()) {
+            final byte[] bytes = write(data, compression);
+
+            assertSameData(data, NBTIO.read(new ByteArrayInputStream(bytes), compression));
+            assertSameData(data, NBTIO.readLazy(new ByteArrayInputStream(bytes), compression));
+        }
+    }
+
+    @Test
+    void lazyMatchesEager() throws IOException {
+        final byte[] bytes = write(allTypes(), NBTIO.Compression.NONE);
+
+        final MapType<String> eager = NBTIO.read(new ByteArrayInputStream(bytes), NBTIO.Compression.NONE);
+        final MapType<String> lazy = NBTIO.readLazy(bytes);
+
+        assertEquals(eager.keys(), lazy.keys());
+        assertSameData(eager, lazy);
+        assertEquals(eager.getMap("nested").getListUnchecked("compounds").size(), lazy.getMap("nested").getListUnchecked("compounds").size());
+        assertEquals("nested", lazy.getMap("nested").getString("name"));
+
+        // untouched lazy entries are written back as-is
+        final MapType<String> untouched = NBTIO.readLazy(bytes);
+        assertSameData(eager, NBTIO.readLazy(write(untouched, NBTIO.Compression.NONE)));
+
+        // partially decoded and modified lazy entries
+        final MapType<String> modified = NBTIO.readLazy(bytes);
+        modified.getMap("nested").setInt("added", 5);
+        eager.getMap("nested").setInt("added", 5);
+        assertSameData(eager, NBTIO.read(new ByteArrayInputStream(write(modified, NBTIO.Compression.NONE)), NBTIO.Compression.NONE));
+    }
+
+    @Test
+    void modifiedUTF8() throws IOException {
+        final MapType<String> data = Types.NBT.createEmptyMap();
+        data.setString(NUL, SUPPLEMENTARY);
+        data.setString(SUPPLEMENTARY, NUL);
+
+        final byte[] bytes = write(data, NBTIO.Compression.NONE);
+
+        assertTrue(indexOf(bytes, new byte[] { 'a', (byte)0xC0, (byte)0x80, 'b' }) >= 0);
+        assertEquals(-1, indexOf(bytes, new byte[] { 'a', 0, 'b' }));
+        // U+1F600 as the modified UTF-8 encoding of its surrogates, not the 4 byte UTF-8 form
+        assertTrue(indexOf(bytes, new byte[] { (byte)0xED, (byte)0xA0, (byte)0xBD, (byte)0xED, (byte)0xB8, (byte)0x80 }) >= 0);
+        assertEquals(-1, indexOf(bytes, new byte[] { (byte)0xF0, (byte)0x9F, (byte)0x98, (byte)0x80 }));
+
+        final MapType<String> read = NBTIO.read(new ByteArrayInputStream(bytes), NBTIO.Compression.NONE);
+        assertEquals(SUPPLEMENTARY, read.getString(NUL));
+        assertEquals(NUL, read.getString(SUPPLEMENTARY));
+
+        final MapType<String> lazy = NBTIO.readLazy(bytes);
+        assertEquals(SUPPLEMENTARY, lazy.getString(NUL));
+        assertEquals(NUL, lazy.getString(SUPPLEMENTARY));
+    }
+
+    @Test
+    void depthLimit() throws IOException {
+        final byte[] allowedCompounds = nestedCompounds(512);
+        NBTIO.read(new ByteArrayInputStream(allowedCompounds), NBTIO.Compression.NONE);
+        NBTIO.readLazy(allowedCompounds);
+
+        final byte[] allowedLists = nestedLists(512);
+        NBTIO.read(new ByteArrayInputStream(allowedLists), NBTIO.Compression.NONE);
+        NBTIO.readLazy(allowedLists);
+
+        for (final byte[] tooDeep : new byte[][] { nestedCompounds(513), nestedLists(513), nestedCompounds(10_000) }) {
+            assertThrows(IOException.class, () -> NBTIO.read(new ByteArrayInputStream(tooDeep), NBTIO.Compression.NONE));
+            assertThrows(IOException.class, () -> NBTIO.readLazy(tooDeep));
+            assertThrows(IOException.class, () -> NBTIO.read(ByteBuffer.wrap(tooDeep)));
+        }
+    }
+
+    @Test
+    void rejectsMalformed() throws IOException {
+        // root must be a compound
+        assertThrows(IOException.class, () -> NBTIO.read(new ByteArrayInputStream(new byte[] { 1, 0, 0, 5 }), NBTIO.Compression.NONE));
+
+        // truncated data
+        final byte[] bytes = write(allTypes(), NBTIO.Compression.NONE);
+        final byte[] truncated = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        assertThrows(IOException.class, () -> NBTIO.read(new ByteArrayInputStream(truncated), NBTIO.Compression.NONE));
+        assertThrows(IOException.class, () -> NBTIO.readLazy(truncated));
+    }
+
+    @Test
+    void writeRejectsNonNBT() {
+        final MapType<String> json = new JsonMapType(false);
+        json.setInt("value", 1);
+
+        for (final NBTIO.Compression compression : NBTIO.Compression.values()) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            assertThrows(IllegalArgumentException.class, () -> NBTIO.write(output, json, compression));
+            assertEquals(0, output.size());
+        }
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertThrows(IllegalArgumentException.class, () -> NBTIO.write(new DataOutputStream(output), json));
+        assertThrows(IllegalArgumentException.class, () -> NBTIO.write(new DataOutputStream(output), null));
+        assertEquals(0, output.size());
+    }
+
+    @Test
+    void byteBuffer() throws IOException {
+        final MapType<String> data = allTypes();
+        final byte[] bytes = write(data, NBTIO.Compression.NONE);
+
+        // the data sits between other bytes, and only the data is consumed
+        final byte[] padded = new byte[bytes.length + 7];
+        System.arraycopy(bytes, 0, padded, 3, bytes.length);
+
+        final ByteBuffer heap = ByteBuffer.wrap(padded);
+        heap.position(3);
+        assertSameData(data, NBTIO.read(heap));
+        assertEquals(3 + bytes.length, heap.position());
+
+        // a slice has a non-zero array offset
+        final ByteBuffer slice = ByteBuffer.wrap(padded, 3, bytes.length + 4).slice();
+        final MapType<String> lazy = NBTIO.readLazy(slice);
+        assertEquals(bytes.length, slice.position());
+        assertSameData(data, lazy);
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(padded.length);
+        direct.put(padded);
+        direct.position(3);
+        assertSameData(data, NBTIO.readLazy(direct));
+        assertEquals(3 + bytes.length, direct.position());
+
+        final ByteBuffer readOnly = ByteBuffer.wrap(padded).asReadOnlyBuffer();
+        readOnly.position(3);
+        assertSameData(data, NBTIO.read(readOnly));
+        assertEquals(3 + bytes.length, readOnly.position());
+
+        // consecutive roots
+        final byte[] twice = new byte[bytes.length * 2];
+        System.arraycopy(bytes, 0, twice, 0, bytes.length);
+        System.arraycopy(bytes, 0, twice, bytes.length, bytes.length);
+        final ByteBuffer both = ByteBuffer.wrap(twice);
+        assertSameData(data, NBTIO.read(both));
+        assertSameData(data, NBTIO.readLazy(both));
+        assertFalse(both.hasRemaining());
+
+        // the position is left as-is on failure
+        final ByteBuffer truncated = ByteBuffer.wrap(bytes, 0, bytes.length - 1);
+        assertThrows(IOException.class, () -> NBTIO.read(truncated));
+        assertEquals(0, truncated.position());
+    }
+
+    @Test
+    void lazyMalformedStringFoundOnDecode() throws IOException {
+        final MapType<String> data = Types.NBT.createEmptyMap();
+        final MapType<String> nested = Types.NBT.createEmptyMap();
+        nested.setString("key", "xy");
+        data.setMap("nested", nested);
+
+        final byte[] bytes = write(data, NBTIO.Compression.NONE);
+        // 0xFF is never valid in modified UTF-8
+        bytes[indexOf(bytes, new byte[] { 'x', 'y' })] = (byte)0xFF;
+
+        final MapType<String> lazy = NBTIO.readLazy(bytes);
+        assertThrows(UncheckedIOException.class, () -> lazy.getMap("nested"));
+        assertThrows(IOException.class, () -> NBTIO.read(new ByteArrayInputStream(bytes), NBTIO.Compression.NONE));
+    }
+}
@@ -0,0 +1,164 @@
+package ca.spottedleaf.dataconverter.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BitStorageTest {
+
+    // sizes which do and do not fill the last long
+    private static final int[] SIZES = { 0, 1, 63, 64, 65, 256, 4096 };
+
+    private static int[] randomValues(final Random random, final int size, final int bits) {
+        final int[] ret = new int[size];
+        for (int i = 0; i < size; ++i) {
+            ret[i] = (int)(random.nextLong() & ((1L << bits) - 1L));
+        }
+        // the extreme values
+        if (size >= 2) {
+            ret[0] = 0;
+            ret[size - 1] = (int)((1L << bits) - 1L);
+        }
+        return ret;
+    }
+
+    // the bits of each value, read one at a time
+    private static long[] naiveUnpadded(final int[] values, final int bits) {
+        final long[] ret = new long[BitStorage.getUnpaddedLength(values.length, bits)];
+        for (int i = 0; i < values.length; ++i) {
+            for (int k = 0; k < bits; ++k) {
+                if (((values[i] >>> k) & 1) != 0) {
+                    final long bit = (long)i * bits + k;
+                    ret[(int)(bit >>> 6)] |= 1L << (bit & 63L);
+                }
+            }
+        }
+        return ret;
+    }
+
+    private static long[] naivePadded(final int[] values, final int bits) {
+        final int valuesPerLong = 64 / bits;
+        final long[] ret = new long[BitStorage.getPaddedLength(values.length, bits)];
+        for (int i = 0; i < values.length; ++i) {
+            ret[i / valuesPerLong] |= ((long)values[i] & 0xFFFFFFFFL) << ((i % valuesPerLong) * bits);
+        }
+        return ret;
+    }
+
+    @Test
+    void unpaddedRoundTrip() {
+        final Random random = new Random(1L);
+        for (int bits = 1; bits <= 32; ++bits) {
+            for (final int size : SIZES) {
+                final int[] values = randomValues(random, size, bits);
+                final long[] packed = BitStorage.packUnpadded(values, size, bits);
+
+                assertArrayEquals(naiveUnpadded(values, bits), packed, "bits " + bits + ", size " + size);
+                assertArrayEquals(values, BitStorage.unpackUnpadded(packed, size, bits, null), "bits " + bits + ", size " + size);
+                assertArrayEquals(values, BitStorage.unpackUnpadded(packed, size, bits, new int[size]), "bits " + bits + ", size " + size);
+            }
+        }
+    }
+
+    @Test
+    void paddedRoundTrip() {
+        final Random random = new Random(2L);
+        for (int bits = 1; bits <= 32; ++bits) {
+            for (final int size : SIZES) {
+                final int[] values = randomValues(random, size, bits);
+                final long[] packed = BitStorage.packPadded(values, size, bits);
+
+                assertArrayEquals(naivePadded(values, bits), packed, "bits " + bits + ", size " + size);
+                assertArrayEquals(values, BitStorage.unpackPadded(packed, size, bits, null), "bits " + bits + ", size " + size);
+                assertArrayEquals(values, BitStorage.unpackPadded(packed, size, bits, new int[size]), "bits " + bits + ", size " + size);
+            }
+        }
+    }
+
+    @Test
+    void packsPrefix() {
+        final Random random = new Random(3L);
+        for (int bits = 1; bits <= 32; ++bits) {
+            final int[] values = randomValues(random, 100, bits);
+            final int[] prefix = new int[37];
+            System.arraycopy(values, 0, prefix, 0, prefix.length);
+
+            assertArrayEquals(naiveUnpadded(prefix, bits), BitStorage.packUnpadded(values, prefix.length, bits));
+            assertArrayEquals(naivePadded(prefix, bits), BitStorage.packPadded(values, prefix.length, bits));
+        }
+    }
+
+    @Test
+    void missingDataReadsZero() {
+        final Random random = new Random(4L);
+        for (int bits = 1; bits <= 32; ++bits) {
+            final int[] values = randomValues(random, 200, bits);
+            final int[] expected = new int[300];
+            System.arraycopy(values, 0, expected, 0, values.length);
+
+            // the output array is overwritten, including past the end of the data
+            final int[] into = new int[300];
+            Arrays.fill(into, -1);
+            assertArrayEquals(expected, BitStorage.unpackUnpadded(BitStorage.packUnpadded(values, values.length, bits), 300, bits, into));
+
+            Arrays.fill(into, -1);
+            assertArrayEquals(expected, BitStorage.unpackPadded(BitStorage.packPadded(values, values.length, bits), 300, bits, into));
+        }
+
+        assertArrayEquals(new int[5], BitStorage.unpackUnpadded(new long[0], 5, 7, null));
+        assertArrayEquals(new int[5], BitStorage.unpackPadded(new long[0], 5, 7, null));
+    }
+
+    @Test
+    void getPaddedMatchesUnpack() {
+        final Random random = new Random(5L);
+        for (int bits = 1; bits <= 32; ++bits) {
+            for (final int size : SIZES) {
+                final int[] values = randomValues(random, size, bits);
+                final long[] packed = BitStorage.packPadded(values, size, bits);
+                final int[] unpacked = BitStorage.unpackPadded(packed, size, bits, null);
+
+                for (int i = 0; i < size; ++i) {
+                    assertEquals(unpacked[i], BitStorage.getPadded(packed, bits, i), "bits " + bits + ", index " + i);
+                }
+
+                // indices in the unused values of the last long still read from it
+                final int capacity = packed.length * (64 / bits);
+                for (int i = size; i < capacity; ++i) {
+                    assertEquals(0, BitStorage.getPadded(packed, bits, i), "bits " + bits + ", index " + i);
+                }
+
+                assertEquals(-1, BitStorage.getPadded(packed, bits, capacity));
+                assertEquals(-1, BitStorage.getPadded(packed, bits, Integer.MAX_VALUE));
+                assertEquals(-1, BitStorage.getPadded(packed, bits, -1));
+                assertEquals(-1, BitStorage.getPadded(packed, bits, Integer.MIN_VALUE));
+            }
+        }
+    }
+
+    @Test
+    void lengths() {
+        for (int bits = 1; bits <= 32; ++bits) {
+            for (final int size : SIZES) {
+                assertEquals((int)Math.ceil(size * bits / 64.0), BitStorage.getUnpaddedLength(size, bits));
+                assertEquals((int)Math.ceil(size / (double)(64 / bits)), BitStorage.getPaddedLength(size, bits));
+            }
+        }
+        // the product does not overflow
+        assertEquals((int)(((long)Integer.MAX_VALUE * 32L + 63L) / 64L), BitStorage.getUnpaddedLength(Integer.MAX_VALUE, 32));
+    }
+
+    @Test
+    void rejectsBits() {
+        for (final int bits : new int[] { 0, -1, 33, 64 }) {
+            assertThrows(IllegalArgumentException.class, () -> BitStorage.packUnpadded(new int[1], 1, bits));
+            assertThrows(IllegalArgumentException.class, () -> BitStorage.unpackUnpadded(new long[1], 1, bits, null));
+            assertThrows(IllegalArgumentException.class, () -> BitStorage.packPadded(new int[1], 1, bits));
+            assertThrows(IllegalArgumentException.class, () -> BitStorage.unpackPadded(new long[1], 1, bits, null));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ca.spottedleaf.dataconverter.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+// registers the converters up to the latest supported version, without extra converters
+public final class TestDataProvider implements ExternalDataProvider {
+
+    @Override
+    public int dataVersion() {
+        return 4189;
+    }
+
+    @Override
+    public @NotNull List<Integer> extraConverterVersions() {
+        return List.of();
+    }
+
+    @Override
+    public @NotNull Class<?> extraVersionsClass() {
+        return ExtraVersions.class;
+    }
+
+    private static final class ExtraVersions {}
+}